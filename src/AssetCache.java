@@ -0,0 +1,259 @@
+import javax.imageio.ImageIO;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+// Central place that loads and keeps scaled images and sounds, so each one is only decoded once.
+// Every acquire must be matched by a release with the same key. Assets nobody is using stay cached until
+// the cache gets too big (-Dassets.maxBytes, 64 MB by default). Then the least recently used ones are
+// dropped to soft references, which Java frees if it needs the memory.
+public class AssetCache {
+    private static final long MAX_BYTES = Long.getLong("assets.maxBytes", 64L * 1024 * 1024);
+
+    // One cached asset and how many things are using it
+    private static class Entry {
+        Object value;
+        long bytes; // how much memory it takes
+        int refs; // how many acquires haven't been released yet
+
+        Entry(Object value, long bytes) {
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
+
+    // A decoded sound, ready to be opened as a Clip
+    public static class Sound {
+        public final AudioFormat format;
+        public final byte[] data;
+
+        Sound(AudioFormat format, byte[] data) {
+            this.format = format;
+            this.data = data;
+        }
+    }
+
+    // Assets in memory, oldest used first (access order)
+    private static final LinkedHashMap<String, Entry> resident = new LinkedHashMap<>(16, 0.75f, true);
+    // Assets pushed out of the cache - still usable if Java hasn't freed them yet
+    private static final Map<String, SoftReference<Entry>> evicted = new HashMap<>();
+    private static long residentBytes = 0;
+
+    // Get an asset, loading it only if it isn't cached. Returns null (and caches nothing) if loading fails.
+    // Loading happens outside the lock, so decoding one asset doesn't hold up threads that want other ones.
+    // If two threads load the same asset at once, the first one to finish is kept and the other is thrown away.
+    @SuppressWarnings("unchecked")
+    public static <T> T acquire(String key, Supplier<T> loader, ToLongFunction<T> sizeOf) {
+        synchronized (AssetCache.class) {
+            Entry entry = findCached(key);
+            if (entry != null) {
+                entry.refs++;
+                evictIfTooBig();
+                return (T) entry.value;
+            }
+        }
+
+        T value = loader.get();
+        if (value == null) {
+            return null;
+        }
+        long bytes = sizeOf.applyAsLong(value);
+
+        synchronized (AssetCache.class) {
+            Entry entry = findCached(key); // another thread may have loaded it while we were
+            if (entry == null) {
+                entry = new Entry(value, bytes);
+                resident.put(key, entry);
+                residentBytes += entry.bytes;
+            }
+            entry.refs++;
+            evictIfTooBig();
+            return (T) entry.value;
+        }
+    }
+
+    // Find a cached asset and make sure it's resident, or null if it has to be loaded (hold the lock)
+    private static Entry findCached(String key) {
+        Entry entry = resident.get(key);
+        if (entry == null) {
+            SoftReference<Entry> old = evicted.remove(key);
+            entry = old != null ? old.get() : null; // maybe Java hasn't freed it yet
+            if (entry != null) {
+                resident.put(key, entry);
+                residentBytes += entry.bytes; // the caller evicts once it has taken a reference
+            }
+        }
+        return entry;
+    }
+
+    // Say we're done with an asset - it stays cached but can now be evicted
+    public static synchronized void release(String key) {
+        Entry entry = resident.get(key);
+        if (entry != null && entry.refs > 0) {
+            entry.refs--;
+            evictIfTooBig();
+        }
+    }
+
+    // Drop least recently used assets that nobody is using until we're under the limit
+    private static void evictIfTooBig() {
+        Iterator<Map.Entry<String, Entry>> it = resident.entrySet().iterator();
+        while (residentBytes > MAX_BYTES && it.hasNext()) {
+            Map.Entry<String, Entry> next = it.next();
+            Entry entry = next.getValue();
+            if (entry.refs == 0) {
+                it.remove();
+                residentBytes -= entry.bytes;
+                evicted.put(next.getKey(), new SoftReference<>(entry));
+            }
+        }
+        evicted.values().removeIf(ref -> ref.get() == null); // forget the ones Java already freed
+    }
+
+    // Cache key for an image scaled to an exact size
+    public static String imageKey(String path, int width, int height) {
+        return path + "@" + width + "x" + height;
+    }
+
+    // Cache key for an image scaled by a factor of its own size
+    public static String imageKey(String path, double widthScale, double heightScale) {
+        return path + "@" + widthScale + "x" + heightScale + " scale";
+    }
+
+    // Cache key for a sound
+    public static String soundKey(String path) {
+        return "sound " + path;
+    }
+
+    // Get an image scaled to an exact size
+    public static BufferedImage acquireImage(String path, int width, int height) {
+        return acquire(imageKey(path, width, height), () -> scale(path, read(path), width, height), AssetCache::imageBytes);
+    }
+
+    // Get an image scaled by a factor of its own size
+    public static BufferedImage acquireImage(String path, double widthScale, double heightScale) {
+        return acquire(imageKey(path, widthScale, heightScale), () -> {
+            BufferedImage original = read(path);
+            return scale(path, original, (int) (original.getWidth() * widthScale), (int) (original.getHeight() * heightScale));
+        }, AssetCache::imageBytes);
+    }
+
+    // Get a decoded sound, or null if it couldn't be loaded
+    public static Sound acquireSound(String path) {
+        return acquire(soundKey(path), () -> readSound(path), sound -> sound.data.length);
+    }
+
+    // How much memory an image uses
+    public static long imageBytes(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    // Decode an image from the resources folder
+    private static BufferedImage read(String path) {
+        URL url = AssetCache.class.getResource(path);
+        if (url == null) {
+            throw new IllegalArgumentException("Image not found: " + path);
+        }
+        AssetLoadEvent event = new AssetLoadEvent(); // times the decode for Flight Recorder
+        event.begin();
+        try {
+            BufferedImage image = ImageIO.read(url);
+            if (event.shouldCommit()) {
+                event.path = path;
+                event.operation = "decode";
+                event.bytes = imageBytes(image);
+                event.commit();
+            }
+            return image;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Error loading image " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Scale an image smoothly - halves it step by step first so big shrinks still look good
+    private static BufferedImage scale(String path, BufferedImage image, int width, int height) {
+        AssetLoadEvent event = new AssetLoadEvent(); // times the scaling for Flight Recorder
+        event.begin();
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        while (true) {
+            // Halve while it's still at least twice too big, otherwise go straight to the final size
+            w = w / 2 >= width ? w / 2 : width;
+            h = h / 2 >= height ? h / 2 : height;
+
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = next;
+
+            if (w == width && h == height) {
+                if (event.shouldCommit()) {
+                    event.path = path;
+                    event.operation = "scale";
+                    event.bytes = imageBytes(current);
+                    event.commit();
+                }
+                return current;
+            }
+        }
+    }
+
+    // Decode a sound from the resources folder, or null if it can't be loaded
+    private static Sound readSound(String path) {
+        URL url = AssetCache.class.getResource(path);
+        if (url == null) {
+            System.out.println("Sound file not found: " + path);
+            return null;
+        }
+        AssetLoadEvent event = new AssetLoadEvent(); // times the decode for Flight Recorder
+        event.begin();
+        try (AudioInputStream audioInput = AudioSystem.getAudioInputStream(url)) {
+            Sound sound = new Sound(audioInput.getFormat(), audioInput.readAllBytes());
+            if (event.shouldCommit()) {
+                event.path = path;
+                event.operation = "sound decode";
+                event.bytes = sound.data.length;
+                event.commit();
+            }
+            return sound;
+        } catch (UnsupportedAudioFileException | IOException e) {
+            System.out.println("Error loading sound: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Total memory used by cached assets
+    public static synchronized long getResidentBytes() {
+        return residentBytes;
+    }
+
+    // One line per cached asset with its size and how many things are using it
+    public static synchronized String report() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Entry> next : resident.entrySet()) {
+            Entry entry = next.getValue();
+            text.append(String.format("%-40s %8d KB  refs: %d%n", next.getKey(), entry.bytes / 1024, entry.refs));
+        }
+        text.append(String.format("Resident: %d KB of %d KB, %d evicted%n",
+                residentBytes / 1024, MAX_BYTES / 1024, evicted.size()));
+        return text.toString();
+    }
+}
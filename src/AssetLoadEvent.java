@@ -0,0 +1,18 @@
+import jdk.jfr.*;
+
+// Flight Recorder event: an image or sound decoded or scaled by the AssetCache
+@Name("soccer.AssetLoad")
+@Label("Asset Load")
+@Category("Soccer Game")
+@Description("An image or sound decoded or scaled by the AssetCache")
+public class AssetLoadEvent extends Event {
+    @Label("Path")
+    String path; // resource being loaded
+
+    @Label("Operation")
+    String operation; // decode, scale or sound decode
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes; // memory used by the result
+}
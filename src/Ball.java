@@ -10,14 +10,16 @@ class Ball {
     private int targetY; // where the ball is trying to go (y)
     private int width; // how wide the ball is
     private int height; // how tall the ball is
-    private JLabel label; // the actual image of the ball
+    private JLabel label; // the actual image of the ball, null when nothing is drawn
+    private String imageKey; // AssetCache key of the ball image, null when there's no image
     private boolean isMoving; // boolean variable to check if the ball is moving
-    private final int SPEED = 24; // how fast the ball moves
-    private final int START_X = 580; // starting x position (center)
-    private final int START_Y = 705; // starting y position (bottom)
+    static final int SPEED = 24; // how fast the ball moves
+    static final int START_X = 580; // starting x position (center)
+    static final int START_Y = 705; // starting y position (bottom)
+    static final int SIZE = 120; // width and height of the ball
 
     // 8 possible shot positions
-    private int[][] shotPositions = {
+    static final int[][] SHOT_POSITIONS = {
             {310, 260},   // Top left corner
             {810, 250},   // Top right corner
             {300, 350},   // Middle left
@@ -34,21 +36,28 @@ class Ball {
     public Ball(String imagePath) {
         this.x = START_X;
         this.y = START_Y;
-        this.width = 120;
-        this.height = 120;
+        this.width = SIZE;
+        this.height = SIZE;
         this.isMoving = false;
 
-        // Load and scale ball image to the right size
-        ImageIcon ballIcon = new ImageIcon(getClass().getResource(imagePath));
-        Image ballImage = ballIcon.getImage();
-        Image scaledBall = ballImage.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-        ImageIcon scaledBallIcon = new ImageIcon(scaledBall);
+        // Load and scale ball image to the right size (shared through the AssetCache)
+        imageKey = AssetCache.imageKey(imagePath, width, height);
+        ImageIcon scaledBallIcon = new ImageIcon(AssetCache.acquireImage(imagePath, width, height));
 
         // Create the label that shows the ball on screen
         label = new JLabel(scaledBallIcon);
         label.setBounds(x, y, width, height);
     }
 
+    // Constructor - creates a ball without an image or label, for when something else draws it
+    public Ball() {
+        this.x = START_X;
+        this.y = START_Y;
+        this.width = SIZE;
+        this.height = SIZE;
+        this.isMoving = false;
+    }
+
     // This method starts the ball moving to a random position
     public void startShot() {
         if (!isMoving) { // only start if ball isn't already moving
@@ -58,10 +67,17 @@ class Ball {
             y = START_Y;
 
             // Pick a random target position from our array
-            int randomShot = random.nextInt(shotPositions.length);
-            targetX = shotPositions[randomShot][0];
-            targetY = shotPositions[randomShot][1];
-
+            int randomShot = random.nextInt(SHOT_POSITIONS.length);
+            targetX = SHOT_POSITIONS[randomShot][0];
+            targetY = SHOT_POSITIONS[randomShot][1];
+
+            // Record the shot in Flight Recorder (does nothing unless a recording is running)
+            ShotStartEvent event = new ShotStartEvent();
+            if (event.shouldCommit()) {
+                event.targetX = targetX;
+                event.targetY = targetY;
+                event.commit();
+            }
         }
     }
 
@@ -77,13 +93,13 @@ class Ball {
                 // Move towards target at our speed
                 x += (int) ((deltaX / distance) * SPEED);
                 y += (int) ((deltaY / distance) * SPEED);
-                label.setBounds(x, y, width, height); // update position on screen
+                updatePosition(); // update position on screen
                 return false; // Still moving
             } else {
                 // We've reached the target - snaps to exact position
                 x = targetX;
                 y = targetY;
-                label.setBounds(x, y, width, height);
+                updatePosition();
                 isMoving = false;
                 return true; // Finished moving
             }
@@ -96,7 +112,21 @@ class Ball {
         x = START_X;
         y = START_Y;
         isMoving = false;
-        label.setBounds(x, y, width, height);
+        updatePosition();
+    }
+
+    // Move the image to where the ball is (if it has one)
+    private void updatePosition() {
+        if (label != null) {
+            label.setBounds(x, y, width, height);
+        }
+    }
+
+    // Let go of the cached ball image - call this when the ball won't be used again
+    public void dispose() {
+        if (imageKey != null) {
+            AssetCache.release(imageKey);
+        }
     }
 
     // Creates a rectangular collision area for the ball (used for detection of collision)
@@ -110,7 +140,7 @@ class Ball {
         return new Rectangle(collisionX, collisionY, collisionSize, collisionSize);
     }
 
-    // Returns the JLabel so other classes can add it to the screen
+    // Returns the JLabel so other classes can add it to the screen (null if made without an image)
     public JLabel getLabel() {
         return label;
     }
@@ -119,4 +149,14 @@ class Ball {
     public boolean isMoving() {
         return isMoving;
     }
+
+    // Get the ball's current x position
+    public int getX() {
+        return x;
+    }
+
+    // Get the ball's current y position
+    public int getY() {
+        return y;
+    }
 }
\ No newline at end of file
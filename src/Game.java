@@ -5,10 +5,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import javax.sound.sampled.*;
-import java.io.*;
-import java.net.URL;
-import java.util.*;
+import java.io.IOException;
 import java.util.List;
 
 
@@ -18,17 +15,20 @@ public class Game extends JFrame implements KeyListener, ActionListener {
     private JLayeredPane layeredPane; // lets us put things on top of each other (GUI)
     private Goalkeeper goalie; // the goalkeeper player controls
     private Ball ball; // the soccer ball that moves around
-    private Timer gameTimer; // runs the game loop every 50ms
+    private Timer gameTimer; // runs the game loop every 50ms, but only while something is moving
+    private LoopStats loopStats = new LoopStats(); // ticks and repaints per second
+    private SpectatorServer spectatorServer; // streams the match to spectator screens, null when turned off
+    private Timer statsTimer; // prints loop stats with -Dgame.loopStats=true, null otherwise
+    private GameEventBus events; // sound, HUD and leaderboard react to game events on their own threads
+    private boolean resolvingShot; // true from the end of a shot until its message has been closed
     private int saves = 0; // how many saves the goalie made this round
     private int goals = 0; // how many goals opponent scored this round
     private int wins = 0; // how many games the goalie won total
     private int losses = 0; // how many games the goalie lost total
     private String playerName; // player's name for leaderboard
-    private JLabel scoreLabel; // shows saves and goals on screen
-    private JLabel gameLabel; // shows wins and losses on screen
-    private JLabel leaderboardLabel; // shows top 5 players
-
-    private static final String LEADERBOARD_FILE = "leaderboard.txt"; // file where we save high scores
+    private HudPanel scoreHud; // shows saves and goals on screen
+    private HudPanel gameHud; // shows wins and losses on screen
+    private HudPanel leaderboardHud; // shows top 5 players
 
     // Constructor - sets up the whole game when created
     public Game() {
@@ -37,6 +37,8 @@ public class Game extends JFrame implements KeyListener, ActionListener {
         createGameObjects();
         setupGameTimer();
         updateLeaderboard();
+        startSpectatorServer();
+        setupEvents();
     }
 
     // Ask the player what their name is
@@ -60,46 +62,35 @@ public class Game extends JFrame implements KeyListener, ActionListener {
         layeredPane = new JLayeredPane();
         layeredPane.setPreferredSize(new Dimension(1280, 800));
 
-        // Load and scale the soccer field background image
-        ImageIcon originalIcon = new ImageIcon(getClass().getResource("/SoccerNet.png"));
-        Image originalImage = originalIcon.getImage();
-        Image scaledImage = originalImage.getScaledInstance(1280, 800, Image.SCALE_SMOOTH);
-        ImageIcon scaledIcon = new ImageIcon(scaledImage);
+        // Load and scale the soccer field background image (shared through the AssetCache)
+        ImageIcon scaledIcon = new ImageIcon(AssetCache.acquireImage("/SoccerNet.png", 1280, 800));
 
         backgroundLabel = new JLabel(scaledIcon);
         backgroundLabel.setBounds(0, 0, 1280, 800);
         layeredPane.add(backgroundLabel, JLayeredPane.DEFAULT_LAYER);
 
-        // Score display in bottom right corner
-        scoreLabel = new JLabel("<html>Saves: 0<br>Goals: 0</html>"); // Used HTML for better formatting
-        scoreLabel.setFont(new Font("Arial", Font.BOLD, 30));
-        scoreLabel.setForeground(Color.WHITE); // white text
-        scoreLabel.setOpaque(true);
-        scoreLabel.setBackground(new Color(0, 0, 0, 150)); // semi-transparent black background
-        scoreLabel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
-        scoreLabel.setBounds(1075, 700, 200, 80);
-        layeredPane.add(scoreLabel, JLayeredPane.DRAG_LAYER);
+        // Score display in bottom right corner (white text on a semi-transparent black box)
+        scoreHud = new HudPanel(new Font("Arial", Font.BOLD, 30), 2);
+        scoreHud.setLine(0, "Saves: ", 0, "");
+        scoreHud.setLine(1, "Goals: ", 0, "");
+        scoreHud.setBounds(1075, 700, 200, 80);
+        layeredPane.add(scoreHud, JLayeredPane.DRAG_LAYER);
 
         // Game stats in bottom left corner
-        gameLabel = new JLabel("<html>Wins: 0<br>Losses: 0</html>");
-        gameLabel.setFont(new Font("Arial", Font.BOLD, 30));
-        gameLabel.setForeground(Color.WHITE);
-        gameLabel.setOpaque(true);
-        gameLabel.setBackground(new Color(0, 0, 0, 150));
-        gameLabel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
-        gameLabel.setBounds(20, 700, 170, 80);
-        layeredPane.add(gameLabel, JLayeredPane.DRAG_LAYER);
-
-        // Leaderboard in top right corner
-        leaderboardLabel = new JLabel();
-        leaderboardLabel.setFont(new Font("Arial", Font.BOLD, 16));
-        leaderboardLabel.setForeground(Color.WHITE);
-        leaderboardLabel.setOpaque(true);
-        leaderboardLabel.setBackground(new Color(0, 0, 0, 150));
-        leaderboardLabel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
-        leaderboardLabel.setBounds(1050, 20, 220, 160);
-        leaderboardLabel.setVerticalAlignment(SwingConstants.TOP);
-        layeredPane.add(leaderboardLabel, JLayeredPane.DRAG_LAYER);
+        gameHud = new HudPanel(new Font("Arial", Font.BOLD, 30), 2);
+        gameHud.setLine(0, "Wins: ", 0, "");
+        gameHud.setLine(1, "Losses: ", 0, "");
+        gameHud.setBounds(20, 700, 170, 80);
+        layeredPane.add(gameHud, JLayeredPane.DRAG_LAYER);
+
+        // Leaderboard in top right corner - a title and 5 players
+        Font leaderboardFont = new Font("Arial", Font.BOLD, 16);
+        leaderboardHud = new HudPanel(leaderboardFont, 6);
+        String trophy = "\uD83C\uDFC6 "; // trophy emoji, only shown if the font has it
+        leaderboardHud.setLine(0, (leaderboardFont.canDisplayUpTo(trophy) == -1 ? trophy : "") + "LEADERBOARD", HudPanel.NO_NUMBER, "");
+        leaderboardHud.setBounds(1050, 20, 220, 160);
+        leaderboardHud.setVerticalAlignment(SwingConstants.TOP);
+        layeredPane.add(leaderboardHud, JLayeredPane.DRAG_LAYER);
 
         add(layeredPane);
         setVisible(true); // show the window
@@ -116,148 +107,148 @@ public class Game extends JFrame implements KeyListener, ActionListener {
         layeredPane.add(ball.getLabel(), JLayeredPane.MODAL_LAYER);
     }
 
-    // Start the game timer that runs the game loop
+    // Create the game timer that runs the game loop
     private void setupGameTimer() {
-        gameTimer = new Timer(50, this); // runs every 50ms
-        gameTimer.start();
-    }
-
-    // Update the saves and goals display on screen
-    private void updateScoreDisplay() {
-        scoreLabel.setText("<html>Saves: " + saves + "<br>Goals: " + goals + "</html>");
-    }
-
-    // Update the wins and losses display on screen
-    private void updateGameDisplay() {
-        gameLabel.setText("<html>Wins: " + wins + "<br>Losses: " + losses + "</html>");
+        gameTimer = new Timer(50, this); // runs every 50ms once started
+        // The timer isn't started here - nothing moves until the player shoots, so the game starts idle
+
+        // Print loop stats once a second when run with -Dgame.loopStats=true
+        if (Boolean.getBoolean("game.loopStats")) {
+            statsTimer = new Timer(1000, e -> System.out.println(
+                    "Game loop " + (gameTimer.isRunning() ? "running" : "idle") + " - " + loopStats
+                            + ", assets: " + AssetCache.getResidentBytes() / 1024 + " KB"
+                            + ", event lag: " + events.getLag() + ", dropped events: " + events.getDropped()));
+            statsTimer.start();
+        }
     }
 
-    // Load leaderboard from file and update the display
-    private void updateLeaderboard() {
-        List<PlayerScore> leaderboard = loadLeaderboard();
-        StringBuilder leaderboardText = new StringBuilder("<html><b>🏆 LEADERBOARD</b><br>");
+    // Subscribe sound, HUD and leaderboard to game events, so the game loop only has to publish them
+    private void setupEvents() {
+        events = new GameEventBus();
 
-        // Show top 5 players
-        for (int i = 0; i < Math.min(5, leaderboard.size()); i++) {
-            PlayerScore player = leaderboard.get(i);
-            leaderboardText.append(String.format("%d. %s: %d wins<br>",
-                    i + 1, player.name, player.wins));
-        }
+        // Sound - cheer for a save, boo for a goal
+        events.subscribe("audio", (event, endOfBatch) -> {
+            if (event.getType() == GameEvent.Type.SAVE) {
+                SoundPlayer.play("/SoccerCheering.wav");
+            } else if (event.getType() == GameEvent.Type.GOAL) {
+                SoundPlayer.play("/SoccerBoo.wav");
+            }
+        });
 
-        // Fill empty spots with dashes if there aren't 5 players yet
-        if (leaderboard.size() < 5) {
-            for (int i = leaderboard.size(); i < 5; i++) {
-                leaderboardText.append(String.format("%d. ---<br>", i + 1)); // we do i + 1 to start at 1 and not 0
+        // HUD - keeps the newest numbers and sends them to the screen once per batch
+        int[] latest = new int[4]; // saves, goals, wins, losses (only used on the HUD thread)
+        events.subscribe("hud", (event, endOfBatch) -> {
+            latest[0] = event.getSaves();
+            latest[1] = event.getGoals();
+            latest[2] = event.getWins();
+            latest[3] = event.getLosses();
+            if (endOfBatch) {
+                int newSaves = latest[0], newGoals = latest[1], newWins = latest[2], newLosses = latest[3];
+                SwingUtilities.invokeLater(() -> { // HUD boxes can only be changed on the Swing thread
+                    scoreHud.setNumber(0, newSaves);
+                    scoreHud.setNumber(1, newGoals);
+                    gameHud.setNumber(0, newWins);
+                    gameHud.setNumber(1, newLosses);
+                });
             }
-        }
+        });
 
-        leaderboardText.append("</html>");
-        leaderboardLabel.setText(leaderboardText.toString());
+        // Leaderboard - save wins to the file and reload it, all off the Swing thread
+        events.subscribe("leaderboard", (event, endOfBatch) -> {
+            if (event.getType() == GameEvent.Type.MATCH_WON) {
+                Leaderboard.addWins(playerName, event.getWins()); // Save only name and wins to file
+            }
+            if (event.getType() == GameEvent.Type.MATCH_WON || event.getType() == GameEvent.Type.MATCH_LOST) {
+                List<Leaderboard.PlayerScore> leaderboard = Leaderboard.load();
+                SwingUtilities.invokeLater(() -> showLeaderboard(leaderboard));
+            }
+        });
     }
 
-    // Save current player's score to the leaderboard file (only name and wins)
-    private void savePlayerScore() {
-        List<PlayerScore> leaderboard = loadLeaderboard();
-
-        // Check if this player already exists in leaderboard
-        boolean playerFound = false;
-        for (PlayerScore player : leaderboard) {
-            if (player.name.equals(playerName)) {
-                player.wins += wins; // Add current session wins to existing total
-                playerFound = true;
-                break;
-            }
+    // Stream the match to spectators when run with -Dspectator.port=<port>
+    private void startSpectatorServer() {
+        Integer port = Integer.getInteger("spectator.port");
+        if (port == null) {
+            return;
         }
-
-        // If new player, add them to leaderboard
-        if (!playerFound) {
-            leaderboard.add(new PlayerScore(playerName, wins));
+        try {
+            spectatorServer = new SpectatorServer(port);
+            publishState();
+        } catch (IOException e) {
+            System.out.println("Error starting spectator server: " + e.getMessage());
         }
+    }
 
-        // Sort by wins (highest first)
-        leaderboard.sort((a, b) -> Integer.compare(b.wins, a.wins));
-
-        // Save only name and wins to the file
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(LEADERBOARD_FILE))) {
-            for (PlayerScore player : leaderboard) {
-                writer.write(player.name + "," + player.wins);
-                writer.newLine();
-            }
-        } catch (IOException e) {
-            System.out.println("Error saving leaderboard: " + e.getMessage());
+    // Send the current ball, goalie and score to the spectators (returns right away)
+    private void publishState() {
+        if (spectatorServer != null) {
+            spectatorServer.publish(ball.getX(), ball.getY(), goalie.getX(), goalie.getY(),
+                    goalie.getDiveDirection(), saves, goals);
         }
     }
 
-    // Load all player scores from the leaderboard file (only name and wins)
-    private List<PlayerScore> loadLeaderboard() {
-        List<PlayerScore> leaderboard = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(LEADERBOARD_FILE))) {
-            String line;
-            while ((line = reader.readLine()) != null) { // Makes sure it's not empty
-                String[] parts = line.split(","); // split by comma
-                if (parts.length == 2) { // make sure we have name and wins
-                    String name = parts[0];
-                    int wins = Integer.parseInt(parts[1]);
-                    leaderboard.add(new PlayerScore(name, wins));
-                }
-            }
-        } catch (FileNotFoundException e) {
-            // File doesn't exist yet, first time running
-        } catch (IOException | NumberFormatException e) {
-            System.out.println("Error loading leaderboard: " + e.getMessage());
+    // Wake the game loop up at full speed (does nothing if it's already running)
+    private void wakeGameLoop() {
+        if (!gameTimer.isRunning()) {
+            gameTimer.start();
         }
+    }
 
-        // Sort by wins (highest first)
-        leaderboard.sort((a, b) -> Integer.compare(b.wins, a.wins));
-        return leaderboard;
+    // Get the loop counters so the idle savings can be checked
+    public LoopStats getLoopStats() {
+        return loopStats;
     }
 
-    // This is the method used to play my 2 sound effects (cheer and boo)
-    private void playSound(String soundFilePath) {
-        try {
-            // Get the URL of the sound resource
-            URL soundURL = getClass().getResource(soundFilePath);
-            if (soundURL == null) {
-                System.out.println("Sound file not found: " + soundFilePath);
-                return;
-            }
+    // Load leaderboard from file and update the display
+    private void updateLeaderboard() {
+        showLeaderboard(Leaderboard.load());
+    }
 
-            // Load and play the clip
-            AudioInputStream audioInput = AudioSystem.getAudioInputStream(soundURL);
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioInput);
-            clip.start();
+    // Show the top 5 players from an already loaded leaderboard
+    private void showLeaderboard(List<Leaderboard.PlayerScore> leaderboard) {
+        // Show top 5 players (line 0 is the title) - only rows that changed get redrawn
+        for (int i = 0; i < Math.min(5, leaderboard.size()); i++) {
+            Leaderboard.PlayerScore player = leaderboard.get(i);
+            leaderboardHud.setLine(i + 1, (i + 1) + ". " + player.name + ": ", player.wins, " wins");
         }
-        catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            System.out.println("Error playing sound: " + e.getMessage());
+
+        // Fill empty spots with dashes if there aren't 5 players yet
+        for (int i = leaderboard.size(); i < 5; i++) {
+            leaderboardHud.setLine(i + 1, (i + 1) + ". ---", HudPanel.NO_NUMBER, ""); // we do i + 1 to start at 1 and not 0
         }
     }
 
     // Reset everything for a new game
     private void restartGame() {
-        // Reset scores back to 0
+        // Reset scores back to 0 - the HUD subscriber shows it, so it's the only thing changing the score boxes
         saves = 0;
         goals = 0;
-        updateScoreDisplay();
+        events.publish(GameEvent.Type.NEW_MATCH, saves, goals, wins, losses);
 
         // Reset ball and goalie positions
         ball.reset();
-        layeredPane.remove(goalie.getLabel());
-        goalie = new Goalkeeper(490, 275, "/SoccerGoalie.png");
-
-        // Remove old goalie and add new one
-        layeredPane.add(goalie.getLabel(), JLayeredPane.PALETTE_LAYER);
+        goalie.reset();
 
-        // Restart the game timer
-        gameTimer.start();
-
-        // Refresh the display
+        // Refresh the display - the game timer starts again on the next shot
         repaint();
+        loopStats.recordRepaint();
+        publishState();
     }
 
     // Close this game and go back to main menu
     private void returnToMainMenu() {
+        if (statsTimer != null) {
+            statsTimer.stop(); // otherwise it keeps this closed game alive and keeps printing
+        }
+        if (spectatorServer != null) {
+            spectatorServer.close(); // the next game opens its own
+        }
+        events.close(); // waits for the leaderboard to finish saving
+        // Let go of this game's cached images so the cache can drop them if it needs to
+        AssetCache.release(AssetCache.imageKey("/SoccerNet.png", 1280, 800));
+        goalie.dispose();
+        ball.dispose();
+
         this.dispose(); // Close current game window
         SwingUtilities.invokeLater(() -> {
             MainMenu.main(new String[0]); // Return to main menu
@@ -304,53 +295,88 @@ public class Game extends JFrame implements KeyListener, ActionListener {
                     goalie.dive(135);
                     break;
             }
+            publishState();
         }
 
         // Start ball shot with space bar
-        if (e.getKeyCode() == KeyEvent.VK_SPACE) {
+        if (e.getKeyCode() == KeyEvent.VK_SPACE && !ball.isMoving() && !resolvingShot) {
             ball.startShot();
+            events.publish(GameEvent.Type.SHOT_STARTED, saves, goals, wins, losses);
+            wakeGameLoop(); // the ball is moving now, so the loop needs to run
         }
     }
 
-    // Game loop - runs every 50ms while game is running
+    // Game loop - runs every 50ms while the ball is moving
     @Override
     public void actionPerformed(ActionEvent e) {
+        loopStats.recordTick();
+
+        // Nothing is moving, so stop ticking until the next shot wakes us up
+        if (!ball.isMoving()) {
+            gameTimer.stop();
+            return;
+        }
+
         // Update ball position and check if it finished moving
         boolean ballFinished = ball.update();
+        repaint(); // redraw everything on screen
+        loopStats.recordRepaint();
+        publishState();
 
         // Check for goal or save when ball stops moving
         if (ballFinished) {
             checkGoalOrSave();
         }
-        repaint(); // redraw everything on screen
     }
 
-    // Check if goalie saved the ball or if it was a goal
+    // Check if goalie saved the ball or if it was a goal - only updates the score and publishes events.
+    // Sound, HUD and leaderboard happen on their own threads, and the messages are shown after this tick.
     private void checkGoalOrSave() {
+        gameTimer.stop(); // the ball has stopped, wait idle until the next shot
+        resolvingShot = true; // no new shot until the message has been closed
+
         boolean collision = goalie.isCollidingWithBall(ball);
         if (collision) {
-            // When there's a collision, it's a save
-            playSound("/SoccerCheering.wav");
-            saves++;
-            JOptionPane.showMessageDialog(this, "SAVE! Great job!");
+            saves++; // When there's a collision, it's a save
+        } else {
+            goals++; // When there isn't a collision, it's a goal
         }
-        else {
-            // When there isn't a collision, it's a goal
-            playSound("/SoccerBoo.wav");
-            goals++;
-            JOptionPane.showMessageDialog(this, "GOAL! The ball got past you!");
+        events.publish(collision ? GameEvent.Type.SAVE : GameEvent.Type.GOAL, saves, goals, wins, losses);
+        publishState();
+
+        // Record the result in Flight Recorder (does nothing unless a recording is running)
+        ShotResultEvent event = new ShotResultEvent();
+        if (event.shouldCommit()) {
+            event.outcome = collision ? "Save" : "Goal";
+            event.saves = saves;
+            event.goals = goals;
+            event.commit();
         }
 
-        updateScoreDisplay();
-
         // Check if game is over - first to 5 wins
-        if (saves == 5) {
-            gameTimer.stop(); // stop the game loop
+        boolean won = saves == 5;
+        boolean lost = goals == 5;
+        if (won) {
             wins++;
-            updateGameDisplay();
-            savePlayerScore(); // Save only name and wins to file
-            updateLeaderboard(); // Update leaderboard display
+            events.publish(GameEvent.Type.MATCH_WON, saves, goals, wins, losses);
+        } else if (lost) {
+            losses++;
+            events.publish(GameEvent.Type.MATCH_LOST, saves, goals, wins, losses);
+        }
 
+        SwingUtilities.invokeLater(() -> showShotResult(collision, won, lost));
+    }
+
+    // Show the save or goal message, then either get the next shot ready or ask to play again
+    private void showShotResult(boolean save, boolean won, boolean lost) {
+        if (save) {
+            JOptionPane.showMessageDialog(this, "SAVE! Great job!");
+        } else {
+            JOptionPane.showMessageDialog(this, "GOAL! The ball got past you!");
+        }
+        resolvingShot = false;
+
+        if (won) {
             // Ask if player wants to play again
             int choice = JOptionPane.showConfirmDialog(this, "Congratulations, you WON!!\n Would you like to play again?", "Win!",
                     JOptionPane.YES_NO_OPTION);
@@ -363,12 +389,7 @@ public class Game extends JFrame implements KeyListener, ActionListener {
             else {
                 returnToMainMenu();
             }
-        } else if (goals == 5) {
-            gameTimer.stop(); // stop the game loop
-            losses++;
-            updateGameDisplay();
-            updateLeaderboard(); // Update leaderboard display
-
+        } else if (lost) {
             // Ask if player wants to play again
             int choice = JOptionPane.showConfirmDialog(this, "Game Over. You lost.\n Would you like to play again?", "Lose.",
                     JOptionPane.YES_NO_OPTION);
@@ -379,14 +400,14 @@ public class Game extends JFrame implements KeyListener, ActionListener {
             }
         } else {
             // Game continues - reset goalie and ball for next shot
-            layeredPane.remove(goalie.getLabel());
-            goalie = new Goalkeeper(490, 275, "/SoccerGoalie.png");
-            layeredPane.add(goalie.getLabel(), JLayeredPane.PALETTE_LAYER);
+            goalie.reset();
 
             // Reset ball for next shot
             ball.reset();
 
             repaint();
+            loopStats.recordRepaint();
+            publishState();
         }
     }
 
@@ -402,18 +423,6 @@ public class Game extends JFrame implements KeyListener, ActionListener {
 
     }
 
-    // Helper class to store player name and their wins
-    private static class PlayerScore { // I left it in the game class since it was so short
-        String name; // player's name
-        int wins; // how many games they won
-
-        // Constructor to create a new player score (only name and wins saved to file)
-        PlayerScore(String name, int wins) {
-            this.name = name;
-            this.wins = wins;
-        }
-    }
-
     // Main method - starts the game when you run the program
     public static void main(String[] args) {
         new Game();
@@ -0,0 +1,50 @@
+// Something that happened in the game, passed through the GameEventBus.
+// The bus makes all of these up front and reuses them, so subscribers must copy what they need and
+// must not keep the event after their handler returns.
+public class GameEvent {
+    // What happened
+    public enum Type {
+        SHOT_STARTED, // the striker shot
+        SAVE, // the goalie stopped the ball
+        GOAL, // the ball got past the goalie
+        MATCH_WON, // the goalie got to 5 saves
+        MATCH_LOST, // the striker got to 5 goals
+        NEW_MATCH // the score went back to 0-0 for a new game
+    }
+
+    Type type;
+    int player; // which split screen match it happened in, always 0 in the normal game
+    int saves; // saves this round after the event
+    int goals; // goals this round after the event
+    int wins; // games won this session after the event
+    int losses; // games lost this session after the event
+    long time; // System.nanoTime() when it was published
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getPlayer() {
+        return player;
+    }
+
+    public int getSaves() {
+        return saves;
+    }
+
+    public int getGoals() {
+        return goals;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public long getTime() {
+        return time;
+    }
+}
@@ -0,0 +1,150 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Passes game events from the game loop to subscribers (audio, HUD, leaderboard, telemetry) on their own threads.
+// Events go into a ring of reused GameEvent slots. Only the game thread publishes, so publishing is just
+// filling in a slot and moving a counter forward - no locks and no waiting. Each subscriber has a thread
+// that handles every event it hasn't seen yet in one batch, then sleeps until the next publish wakes it.
+// If a subscriber falls a whole ring behind, new events are dropped (and counted) instead of making the game wait.
+public class GameEventBus {
+    private static final int CAPACITY = 1024; // must be a power of 2
+
+    // Handles events for one subscriber, on that subscriber's thread
+    public interface Handler {
+        // endOfBatch is true for the last event that's ready right now - a good time to push updates
+        void onEvent(GameEvent event, boolean endOfBatch);
+    }
+
+    // One subscriber's thread and how far it has got
+    private class Subscriber implements Runnable {
+        final String name;
+        final Handler handler;
+        final AtomicLong sequence = new AtomicLong(-1); // last event this subscriber finished
+        Thread thread;
+
+        Subscriber(String name, Handler handler) {
+            this.name = name;
+            this.handler = handler;
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            while (true) {
+                long available = published.get();
+                if (available < next) {
+                    if (!running) {
+                        return; // closed and everything published has been handled
+                    }
+                    // Nothing new, sleep until publish or close wakes us. If the wake-up comes first,
+                    // park returns right away, so none are lost.
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                // Handle everything that's ready in one batch, then say how far we got
+                for (long seq = next; seq <= available; seq++) {
+                    try {
+                        handler.onEvent(ring[(int) (seq & (CAPACITY - 1))], seq == available);
+                    } catch (RuntimeException e) {
+                        System.out.println("Error in " + name + " event handler: " + e);
+                    }
+                }
+                sequence.set(available);
+                next = available + 1;
+            }
+        }
+    }
+
+    private final GameEvent[] ring = new GameEvent[CAPACITY];
+    private final AtomicLong published = new AtomicLong(-1); // last event that's ready to read
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private volatile boolean running = true;
+    private long dropped = 0; // events thrown away because a subscriber was too far behind (game thread only)
+
+    // Constructor - makes every event slot up front
+    public GameEventBus() {
+        for (int i = 0; i < CAPACITY; i++) {
+            ring[i] = new GameEvent();
+        }
+    }
+
+    // Add a subscriber with its own thread - only call this before the first publish
+    public void subscribe(String name, Handler handler) {
+        Subscriber subscriber = new Subscriber(name, handler);
+        subscriber.thread = new Thread(subscriber, "Game events - " + name);
+        subscriber.thread.setDaemon(true); // don't keep the program open
+        subscribers.add(subscriber);
+        subscriber.thread.start();
+    }
+
+    // Publish an event - only the game thread may call this. Returns false if it had to be dropped.
+    public boolean publish(GameEvent.Type type, int saves, int goals, int wins, int losses) {
+        return publish(type, 0, saves, goals, wins, losses);
+    }
+
+    // Publish an event for one player in split screen - only the game thread may call this
+    public boolean publish(GameEvent.Type type, int player, int saves, int goals, int wins, int losses) {
+        if (!running) {
+            return false; // closed, nobody would handle it
+        }
+        long seq = published.get() + 1;
+        if (seq - slowestSequence() > CAPACITY) {
+            dropped++; // the slowest subscriber still needs the slot we would overwrite
+            return false;
+        }
+
+        GameEvent event = ring[(int) (seq & (CAPACITY - 1))];
+        event.type = type;
+        event.player = player;
+        event.saves = saves;
+        event.goals = goals;
+        event.wins = wins;
+        event.losses = losses;
+        event.time = System.nanoTime();
+        published.set(seq); // makes the event visible to the subscribers
+
+        for (int i = 0; i < subscribers.size(); i++) {
+            LockSupport.unpark(subscribers.get(i).thread);
+        }
+        return true;
+    }
+
+    // The furthest-behind subscriber's sequence
+    private long slowestSequence() {
+        long slowest = published.get();
+        for (int i = 0; i < subscribers.size(); i++) {
+            slowest = Math.min(slowest, subscribers.get(i).sequence.get());
+        }
+        return slowest;
+    }
+
+    // How many published events the slowest subscriber hasn't handled yet
+    public long getLag() {
+        return published.get() - slowestSequence();
+    }
+
+    // How many events were dropped because a subscriber was a whole ring behind
+    public long getDropped() {
+        return dropped;
+    }
+
+    // Stop all subscriber threads - waits until they have handled every event already published,
+    // so nothing (like saving the leaderboard) is lost when the game closes. Only the game thread may call this.
+    public void close() {
+        running = false;
+        for (Subscriber subscriber : subscribers) {
+            LockSupport.unpark(subscriber.thread);
+        }
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // stop waiting, but keep the interrupt for the caller
+                return;
+            }
+        }
+    }
+}
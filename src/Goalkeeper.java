@@ -8,40 +8,81 @@ public class Goalkeeper {
     private int y; // current y position on screen
     private int width; // width of goalkeeper
     private int height; // height of goalkeeper
-    private JLabel label; // visual component that shows the goalkeeper
-    private final int SPEED = 22; // how fast goalkeeper moves
+    private JLabel label; // visual component that shows the goalkeeper, null when nothing is drawn
+    static final int SPEED = 22; // how fast goalkeeper moves
+    static final int WIDTH = 300; // width of the goalkeeper image
+    static final int HEIGHT = 400; // height of the goalkeeper image
+    static final int MIN_X = 50; // furthest left the goalkeeper can walk
+    static final int MAX_X = 930; // furthest right the goalkeeper can walk
+    static final int MIN_Y = 50; // highest the goalkeeper can walk
+    static final int MAX_Y = 400; // lowest the goalkeeper can walk
     private String originalImagePath; // path to original image for resetting
+    private int diveDirection = 0; // last dive direction (-45, 45, -135, 135), 0 when standing
+    private int startX; // where the goalkeeper goes back to after each shot
+    private int startY;
+    private BufferedImage standingImage; // scaled goalkeeper image, shared through the AssetCache
+    private ImageIcon standingIcon; // icon for the standing image, so resetting doesn't make a new one
+    private String diveImageKey; // AssetCache key of the dive image on screen, null when standing
 
     // Constructor - creates goalkeeper at starting position
     public Goalkeeper(int startX, int startY, String imagePath) {
         this.x = startX;
         this.y = startY;
-        this.width = 300;
-        this.height = 400;
+        this.startX = startX;
+        this.startY = startY;
+        this.width = WIDTH;
+        this.height = HEIGHT;
         this.originalImagePath = imagePath;
-        loadImage(imagePath);
 
+        // Load and scale the goalkeeper image (only decoded the first time, then it comes from the cache)
+        standingImage = AssetCache.acquireImage(imagePath, width, height);
+        standingIcon = new ImageIcon(standingImage);
+        label = new JLabel(standingIcon);
+        label.setBounds(x, y, width, height); // Set position and size on screen
+    }
+
+    // Constructor - creates a goalkeeper without an image or label, for when something else draws it.
+    // It moves, dives and collides exactly the same, it just doesn't load or rotate any images.
+    public Goalkeeper(int startX, int startY) {
+        this.x = startX;
+        this.y = startY;
+        this.startX = startX;
+        this.startY = startY;
+        this.width = WIDTH;
+        this.height = HEIGHT;
     }
 
-    // Load and scale the goalkeeper image
-    private void loadImage(String imagePath) {
-        ImageIcon goalieIcon = new ImageIcon(getClass().getResource(imagePath));
-        Image goalieImage = goalieIcon.getImage();
-        Image scaledGoalie = goalieImage.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-        ImageIcon scaledGoalieIcon = new ImageIcon(scaledGoalie);
+    // Put the goalkeeper back at the start, standing up, ready for the next shot
+    public void reset() {
+        x = startX;
+        y = startY;
+        showStandingImage();
+        diveDirection = 0;
+        updatePosition();
+    }
 
-        // Create new label if this is the first time, otherwise just update the image
-        if (label == null) {
-            label = new JLabel(scaledGoalieIcon); // First time - create the visual component
-        } else {
-            label.setIcon(scaledGoalieIcon); // Already exists - just change the image
+    // Show the normal standing image and let go of any dive image
+    private void showStandingImage() {
+        if (diveImageKey != null) {
+            AssetCache.release(diveImageKey);
+            diveImageKey = null;
+        }
+        if (label != null) {
+            label.setIcon(standingIcon);
+        }
+    }
+
+    // Let go of the cached images - call this when the goalkeeper won't be used again
+    public void dispose() {
+        if (label != null) {
+            showStandingImage();
+            AssetCache.release(AssetCache.imageKey(originalImagePath, width, height));
         }
-        label.setBounds(x, y, width, height); // Set position and size on screen
     }
 
     // Move goalkeeper left (with boundary checking)
     public void moveLeft() {
-        if (x > 50) {
+        if (x > MIN_X) {
             x -= SPEED;
             updatePosition();
         }
@@ -49,7 +90,7 @@ public class Goalkeeper {
 
     // Move goalkeeper right (with boundary checking)
     public void moveRight() {
-        if (x < 930) {
+        if (x < MAX_X) {
             x += SPEED;
             updatePosition();
         }
@@ -57,7 +98,7 @@ public class Goalkeeper {
 
     // Move goalkeeper up (with boundary checking)
     public void moveUp() {
-        if (y > 50) {
+        if (y > MIN_Y) {
             y -= SPEED;
             updatePosition();
         }
@@ -65,7 +106,7 @@ public class Goalkeeper {
 
     // Move goalkeeper down (with boundary checking)
     public void moveDown() {
-        if (y < 400) {
+        if (y < MAX_Y) {
             y += SPEED;
             updatePosition();
         }
@@ -73,83 +114,25 @@ public class Goalkeeper {
 
     // Make goalkeeper dive in specified direction with rotation
     public void dive(int direction) {
+        GoalkeeperDiveEvent event = new GoalkeeperDiveEvent(); // times the dive for Flight Recorder
+        event.begin();
         try {
-            // Reset to original image first
-            loadImage(originalImagePath);
-
-            ImageIcon originalIcon = (ImageIcon) label.getIcon();
-            Image originalImage = originalIcon.getImage();
-
-            // Convert to BufferedImage for rotation
-            BufferedImage bufferedImage = new BufferedImage(
-                    originalImage.getWidth(null),
-                    originalImage.getHeight(null),
-                    BufferedImage.TYPE_INT_ARGB
-            );
-
-            Graphics2D bGr = bufferedImage.createGraphics();
-            bGr.drawImage(originalImage, 0, 0, null);
-            bGr.dispose();
-
             // Set rotation angle and dive distance based on direction
-            double rotationAngle = 0;
-            int diveDistanceX = 0;
-            int diveDistanceY = 0;
-            switch (direction) {
-                case -45: // Top Left dive (Q key)
-                    rotationAngle = Math.toRadians(-45);  // Rotate player 45° counter-clockwise
-                    diveDistanceX = -150;                 // Move 150 pixels left
-                    diveDistanceY = -100;                 // Move 100 pixels up
-                    break;
-
-                case 45: // Top Right dive (E key)
-                    rotationAngle = Math.toRadians(45);   // Rotate player  45° clockwise
-                    diveDistanceX = 150;                  // Move 150 pixels right
-                    diveDistanceY = -100;                 // Move 100 pixels up
-                    break;
-
-                case -135: // Bottom Left dive (Z key)
-                    rotationAngle = Math.toRadians(-90);  // Rotate player 90° counter-clockwise
-                    diveDistanceX = -180;                 // Move 180 pixels left
-                    diveDistanceY = 30;                   // Move 30 pixels down
-                    break;
-
-                case 135: // Bottom Right dive (C key)
-                    rotationAngle = Math.toRadians(90);   // Rotate player 90° clockwise
-                    diveDistanceX = 180;                  // Move 180 pixels right
-                    diveDistanceY = 30;                   // Move 30 pixels down
-                    break;
+            double rotationAngle = getDiveRotation(direction);
+            int diveDistanceX = getDiveDistanceX(direction);
+            int diveDistanceY = getDiveDistanceY(direction);
+            if (label != null) {
+                // Rotate the standing image - each direction is only drawn once, then it comes from the cache
+                String key = AssetCache.imageKey(originalImagePath, width, height) + " dive " + direction;
+                BufferedImage rotated = AssetCache.acquire(key, () -> rotate(standingImage, rotationAngle),
+                        AssetCache::imageBytes);
+
+                // Update label with rotated image
+                showStandingImage(); // lets go of the last dive image
+                diveImageKey = key;
+                label.setIcon(new ImageIcon(rotated));
             }
-            // Calculate new image dimensions after rotation
-            int w = bufferedImage.getWidth(); // Original width
-            int h = bufferedImage.getHeight(); // Original Height
-            double sin = Math.abs(Math.sin(rotationAngle)); // Complicated math used for rotation
-            double cos = Math.abs(Math.cos(rotationAngle));
-            int newW = (int) (w * cos + h * sin); // New width
-            int newH = (int) (w * sin + h * cos); // New Height
-
-            // Create rotated image
-            BufferedImage rotated = new BufferedImage(newW, newH, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2d = rotated.createGraphics();
-
-            // Enable smooth rotation
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-
-            // Set transparent background
-            g2d.setComposite(AlphaComposite.Clear);
-            g2d.fillRect(0, 0, newW, newH);
-            g2d.setComposite(AlphaComposite.SrcOver);
-
-            // Rotate around center and draw image
-            g2d.translate(newW / 2, newH / 2);
-            g2d.rotate(rotationAngle);
-            g2d.translate(-w / 2, -h / 2);
-            g2d.drawImage(bufferedImage, 0, 0, null);
-            g2d.dispose();
-
-            // Update label with rotated image
-            label.setIcon(new ImageIcon(rotated));
+            diveDirection = direction;
 
             // Move goalkeeper in diving direction
             x += diveDistanceX;
@@ -164,11 +147,95 @@ public class Goalkeeper {
         } catch (Exception e) {
             e.printStackTrace();
         }
+        if (event.shouldCommit()) {
+            event.direction = direction;
+            event.commit();
+        }
+    }
+
+    // Make a rotated copy of an image, big enough that the corners don't get cut off
+    private static BufferedImage rotate(BufferedImage image, double rotationAngle) {
+        // Calculate new image dimensions after rotation
+        int w = image.getWidth(); // Original width
+        int h = image.getHeight(); // Original Height
+        double sin = Math.abs(Math.sin(rotationAngle)); // Complicated math used for rotation
+        double cos = Math.abs(Math.cos(rotationAngle));
+        int newW = (int) (w * cos + h * sin); // New width
+        int newH = (int) (w * sin + h * cos); // New Height
+
+        // Create rotated image
+        BufferedImage rotated = new BufferedImage(newW, newH, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = rotated.createGraphics();
+
+        // Enable smooth rotation
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        // Set transparent background
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(0, 0, newW, newH);
+        g2d.setComposite(AlphaComposite.SrcOver);
+
+        // Rotate around center and draw image
+        g2d.translate(newW / 2, newH / 2);
+        g2d.rotate(rotationAngle);
+        g2d.translate(-w / 2, -h / 2);
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return rotated;
+    }
+
+    // How much the goalkeeper is rotated for each dive direction
+    public static double getDiveRotation(int direction) {
+        switch (direction) {
+            case -45: // Top Left dive (Q key)
+                return Math.toRadians(-45);  // Rotate player 45° counter-clockwise
+            case 45: // Top Right dive (E key)
+                return Math.toRadians(45);   // Rotate player 45° clockwise
+            case -135: // Bottom Left dive (Z key)
+                return Math.toRadians(-90);  // Rotate player 90° counter-clockwise
+            case 135: // Bottom Right dive (C key)
+                return Math.toRadians(90);   // Rotate player 90° clockwise
+            default: // Standing
+                return 0;
+        }
+    }
+
+    // How far the goalkeeper moves sideways for each dive direction
+    public static int getDiveDistanceX(int direction) {
+        switch (direction) {
+            case -45: // Top Left dive (Q key)
+                return -150;                 // Move 150 pixels left
+            case 45: // Top Right dive (E key)
+                return 150;                  // Move 150 pixels right
+            case -135: // Bottom Left dive (Z key)
+                return -180;                 // Move 180 pixels left
+            case 135: // Bottom Right dive (C key)
+                return 180;                  // Move 180 pixels right
+            default: // Standing
+                return 0;
+        }
+    }
+
+    // How far the goalkeeper moves up or down for each dive direction
+    public static int getDiveDistanceY(int direction) {
+        switch (direction) {
+            case -45: // Top Left dive (Q key)
+            case 45: // Top Right dive (E key)
+                return -100;                 // Move 100 pixels up
+            case -135: // Bottom Left dive (Z key)
+            case 135: // Bottom Right dive (C key)
+                return 30;                   // Move 30 pixels down
+            default: // Standing
+                return 0;
+        }
     }
 
     // Update the visual position of the goalkeeper
     private void updatePosition() {
-        label.setBounds(x, y, width, height);
+        if (label != null) {
+            label.setBounds(x, y, width, height);
+        }
     }
 
     // Get smaller, more precise collision area for ball detection
@@ -187,9 +254,24 @@ public class Goalkeeper {
         return goalieCollision.intersects(ballCollision);
     }
 
-    // Get the visual component for adding to game window
+    // Get the visual component for adding to game window (null if made without an image)
     public JLabel getLabel() {
         return label;
     }
 
+    // Get the goalkeeper's current x position
+    public int getX() {
+        return x;
+    }
+
+    // Get the goalkeeper's current y position
+    public int getY() {
+        return y;
+    }
+
+    // Get the last dive direction, 0 if the goalkeeper hasn't dived
+    public int getDiveDirection() {
+        return diveDirection;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+import jdk.jfr.*;
+
+// Flight Recorder event: time spent in Goalkeeper.dive()
+@Name("soccer.GoalkeeperDive")
+@Label("Goalkeeper Dive")
+@Category("Soccer Game")
+@Description("Time spent in Goalkeeper.dive()")
+public class GoalkeeperDiveEvent extends Event {
+    @Label("Direction")
+    int direction; // dive direction (-45, 45, -135 or 135)
+}
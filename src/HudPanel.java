@@ -0,0 +1,188 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.image.BufferedImage;
+
+// Lightweight score box drawn on top of the game (replaces the HTML JLabels).
+// Each line is: text, then an optional number, then more text. Text is turned into glyphs only when it
+// changes and numbers are drawn from a pre-drawn strip of digits, so updating a score makes no garbage
+// and only repaints the line that changed.
+public class HudPanel extends JComponent {
+    private static final Color BACKGROUND = new Color(0, 0, 0, 150); // semi-transparent black, same as before
+    private static final int PADDING = 10; // empty space around the text
+    public static final int NO_NUMBER = Integer.MIN_VALUE; // line has no number (can't clash with a real score)
+    private static final int MINUS = 10; // where the minus sign is kept in the digit strip
+
+    private final Font font;
+    private final FontRenderContext fontContext = new FontRenderContext(null, true, false); // antialiased text
+    private final int lineHeight; // distance between lines
+    private final int ascent; // distance from top of a line to its text baseline
+    private int verticalAlignment = SwingConstants.CENTER; // like JLabel, TOP or CENTER
+
+    // Each line's pieces
+    private final String[] texts;
+    private final String[] suffixes;
+    private final GlyphVector[] textGlyphs;
+    private final GlyphVector[] suffixGlyphs;
+    private final float[] textWidths; // width of each line's text, so painting doesn't measure it again
+    private final int[] numbers;
+
+    // Digits 0-9 and a minus sign drawn once, side by side, in white
+    private final BufferedImage digitStrip;
+    private final int[] digitX = new int[11]; // where each digit starts in the strip
+    private final int[] digitWidth = new int[11]; // how wide each digit is
+    private final int[] digitBuffer = new int[11]; // reused when splitting a number into digits
+
+    // Constructor - makes an empty box with room for the given number of lines
+    public HudPanel(Font font, int lineCount) {
+        this.font = font;
+        setOpaque(false); // background is see-through, so whatever is behind has to be painted too
+
+        FontMetrics metrics = getFontMetrics(font);
+        lineHeight = metrics.getHeight();
+        ascent = metrics.getAscent();
+
+        texts = new String[lineCount];
+        suffixes = new String[lineCount];
+        textGlyphs = new GlyphVector[lineCount];
+        suffixGlyphs = new GlyphVector[lineCount];
+        textWidths = new float[lineCount];
+        numbers = new int[lineCount];
+        java.util.Arrays.fill(numbers, NO_NUMBER);
+
+        digitStrip = drawDigitStrip(metrics);
+    }
+
+    // Pre-draw the ten digits and the minus sign into one image so numbers never need new text layout
+    private BufferedImage drawDigitStrip(FontMetrics metrics) {
+        int x = 0;
+        for (int d = 0; d <= MINUS; d++) {
+            digitX[d] = x;
+            digitWidth[d] = metrics.charWidth(digitChar(d));
+            x += digitWidth[d];
+        }
+
+        BufferedImage strip = new BufferedImage(x, lineHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = strip.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(font);
+        g.setColor(Color.WHITE);
+        for (int d = 0; d <= MINUS; d++) {
+            g.drawString(String.valueOf(digitChar(d)), digitX[d], ascent);
+        }
+        g.dispose();
+        return strip;
+    }
+
+    // The character kept at a place in the digit strip
+    private static char digitChar(int d) {
+        return d == MINUS ? '-' : (char) ('0' + d);
+    }
+
+    // Choose where the lines sit in the box - SwingConstants.TOP or SwingConstants.CENTER
+    public void setVerticalAlignment(int alignment) {
+        verticalAlignment = alignment;
+        repaint();
+    }
+
+    // Set a whole line - text, a number (NO_NUMBER for none) and text after the number
+    public void setLine(int line, String text, int number, String suffix) {
+        boolean changed = false;
+        if (!text.equals(texts[line])) {
+            texts[line] = text;
+            textGlyphs[line] = font.createGlyphVector(fontContext, text);
+            textWidths[line] = (float) textGlyphs[line].getLogicalBounds().getWidth();
+            changed = true;
+        }
+        if (!suffix.equals(suffixes[line])) {
+            suffixes[line] = suffix;
+            suffixGlyphs[line] = font.createGlyphVector(fontContext, suffix);
+            changed = true;
+        }
+        if (numbers[line] != number) {
+            numbers[line] = number;
+            changed = true;
+        }
+        if (changed) {
+            repaintLine(line);
+        }
+    }
+
+    // Change only the number on a line - does nothing if it's the same
+    public void setNumber(int line, int number) {
+        if (numbers[line] != number) {
+            numbers[line] = number;
+            repaintLine(line);
+        }
+    }
+
+    // Ask Swing to redraw just one line
+    private void repaintLine(int line) {
+        repaint(0, firstLineY() + line * lineHeight, getWidth(), lineHeight);
+    }
+
+    // Top of the first line inside the box
+    private int firstLineY() {
+        if (verticalAlignment == SwingConstants.TOP) {
+            return PADDING;
+        }
+        return (getHeight() - texts.length * lineHeight) / 2;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight()); // painting without a clip, draw everything
+        }
+
+        g2d.setColor(BACKGROUND);
+        g2d.fillRect(clip.x, clip.y, clip.width, clip.height); // only the part being repainted
+
+        g2d.setColor(Color.WHITE);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        int top = firstLineY();
+        for (int line = 0; line < texts.length; line++) {
+            int lineTop = top + line * lineHeight;
+            if (lineTop + lineHeight <= clip.y || lineTop >= clip.y + clip.height || texts[line] == null) {
+                continue; // this line isn't being repainted
+            }
+
+            float x = PADDING;
+            int baseline = lineTop + ascent;
+            g2d.drawGlyphVector(textGlyphs[line], x, baseline);
+            x += textWidths[line];
+
+            if (numbers[line] != NO_NUMBER) {
+                x = drawNumber(g2d, numbers[line], (int) x, lineTop);
+            }
+            g2d.drawGlyphVector(suffixGlyphs[line], x, baseline);
+        }
+    }
+
+    // Draw a number from the digit strip, returns where the next text starts
+    private int drawNumber(Graphics2D g2d, int number, int x, int top) {
+        // Split the number into digits (backwards), without making a String.
+        // Remainders of negative numbers are negative, so each digit is flipped instead of the whole number.
+        boolean negative = number < 0;
+        int count = 0;
+        do {
+            digitBuffer[count++] = Math.abs(number % 10);
+            number /= 10;
+        } while (number != 0);
+        if (negative) {
+            digitBuffer[count++] = MINUS;
+        }
+
+        for (int i = count - 1; i >= 0; i--) {
+            int d = digitBuffer[i];
+            g2d.drawImage(digitStrip, x, top, x + digitWidth[d], top + lineHeight,
+                    digitX[d], 0, digitX[d] + digitWidth[d], lineHeight, null);
+            x += digitWidth[d];
+        }
+        return x;
+    }
+}
@@ -0,0 +1,99 @@
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads and writes the leaderboard file, shared by the normal game and split screen mode
+public class Leaderboard {
+    private static final String LEADERBOARD_FILE = "leaderboard.txt"; // file where we save high scores
+
+    // Helper class to store player name and their wins
+    public static class PlayerScore {
+        String name; // player's name
+        int wins; // how many games they won
+
+        // Constructor to create a new player score (only name and wins saved to file)
+        PlayerScore(String name, int wins) {
+            this.name = name;
+            this.wins = wins;
+        }
+    }
+
+    // Add wins to a player's score in the leaderboard file (only name and wins)
+    public static void addWins(String playerName, int wins) {
+        List<PlayerScore> leaderboard = load();
+
+        // Check if this player already exists in leaderboard
+        boolean playerFound = false;
+        for (PlayerScore player : leaderboard) {
+            if (player.name.equals(playerName)) {
+                player.wins += wins; // Add these wins to existing total
+                playerFound = true;
+                break;
+            }
+        }
+
+        // If new player, add them to leaderboard
+        if (!playerFound) {
+            leaderboard.add(new PlayerScore(playerName, wins));
+        }
+
+        // Sort by wins (highest first)
+        leaderboard.sort((a, b) -> Integer.compare(b.wins, a.wins));
+
+        // Save only name and wins to the file
+        LeaderboardIoEvent event = new LeaderboardIoEvent(); // times the save for Flight Recorder
+        event.begin();
+        long bytes = 0;
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(LEADERBOARD_FILE))) {
+            for (PlayerScore player : leaderboard) {
+                String line = player.name + "," + player.wins;
+                writer.write(line);
+                writer.newLine();
+                bytes += line.length() + System.lineSeparator().length();
+            }
+        } catch (IOException e) {
+            System.out.println("Error saving leaderboard: " + e.getMessage());
+        }
+        if (event.shouldCommit()) {
+            event.operation = "save";
+            event.bytes = bytes;
+            event.rows = leaderboard.size();
+            event.commit();
+        }
+    }
+
+    // Load all player scores from the leaderboard file (only name and wins), highest first
+    public static List<PlayerScore> load() {
+        List<PlayerScore> leaderboard = new ArrayList<>();
+        LeaderboardIoEvent event = new LeaderboardIoEvent(); // times the load for Flight Recorder
+        event.begin();
+        long bytes = 0;
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(LEADERBOARD_FILE))) {
+            String line;
+            while ((line = reader.readLine()) != null) { // Makes sure it's not empty
+                bytes += line.length() + 1;
+                String[] parts = line.split(","); // split by comma
+                if (parts.length == 2) { // make sure we have name and wins
+                    String name = parts[0];
+                    int wins = Integer.parseInt(parts[1]);
+                    leaderboard.add(new PlayerScore(name, wins));
+                }
+            }
+        } catch (FileNotFoundException e) {
+            // File doesn't exist yet, first time running
+        } catch (IOException | NumberFormatException e) {
+            System.out.println("Error loading leaderboard: " + e.getMessage());
+        }
+        if (event.shouldCommit()) {
+            event.operation = "load";
+            event.bytes = bytes;
+            event.rows = leaderboard.size();
+            event.commit();
+        }
+
+        // Sort by wins (highest first)
+        leaderboard.sort((a, b) -> Integer.compare(b.wins, a.wins));
+        return leaderboard;
+    }
+}
@@ -0,0 +1,18 @@
+import jdk.jfr.*;
+
+// Flight Recorder event: reading or writing the leaderboard file
+@Name("soccer.LeaderboardIo")
+@Label("Leaderboard I/O")
+@Category("Soccer Game")
+@Description("Reading or writing the leaderboard file")
+public class LeaderboardIoEvent extends Event {
+    @Label("Operation")
+    String operation; // load or save
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes; // size of the file read or written (one byte per character)
+
+    @Label("Rows")
+    int rows; // players read or written
+}
@@ -0,0 +1,52 @@
+// Counts game loop ticks and repaints so we can see how much work the loop does per second
+public class LoopStats {
+    private int ticks; // ticks counted in the current second
+    private int repaints; // repaints counted in the current second
+    private int ticksPerSecond; // ticks counted in the last full second
+    private int repaintsPerSecond; // repaints counted in the last full second
+    private long secondStart = System.nanoTime(); // when the current second started
+
+    // Call once every time the game loop runs
+    public void recordTick() {
+        roll();
+        ticks++;
+    }
+
+    // Call once every time the game loop asks for a repaint
+    public void recordRepaint() {
+        roll();
+        repaints++;
+    }
+
+    // Ticks in the last full second (0 while the loop is idle)
+    public int getTicksPerSecond() {
+        roll();
+        return ticksPerSecond;
+    }
+
+    // Repaints in the last full second (0 while the loop is idle)
+    public int getRepaintsPerSecond() {
+        roll();
+        return repaintsPerSecond;
+    }
+
+    // Start a new second when the old one is over
+    private void roll() {
+        long now = System.nanoTime();
+        long elapsed = now - secondStart;
+        if (elapsed >= 1_000_000_000L) {
+            // If more than one second passed with nothing counted, the last full second was empty
+            boolean skippedSeconds = elapsed >= 2_000_000_000L;
+            ticksPerSecond = skippedSeconds ? 0 : ticks;
+            repaintsPerSecond = skippedSeconds ? 0 : repaints;
+            ticks = 0;
+            repaints = 0;
+            secondStart = now;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ticks/s: " + getTicksPerSecond() + ", repaints/s: " + getRepaintsPerSecond();
+    }
+}
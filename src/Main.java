@@ -1,5 +1,36 @@
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
 public class Main {
     public static void main(String[] args) {
+        // --record or --record=<file.jfr> keeps a Flight Recorder recording running while the game is open.
+        // It's saved when the program exits and can be opened in JDK Mission Control.
+        for (String arg : args) {
+            if (arg.equals("--record") || arg.startsWith("--record=")) {
+                String file = arg.contains("=") ? arg.substring(arg.indexOf('=') + 1) : "soccer-game.jfr";
+                startRecording(Path.of(file));
+            }
+        }
         MainMenu.main(args);
     }
+
+    // Start a continuous recording with the JDK's default settings plus all the game's own events
+    private static void startRecording(Path file) {
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("Soccer Game");
+            recording.setToDisk(true);
+            recording.setMaxAge(Duration.ofMinutes(30)); // only keep the last 30 minutes
+            recording.setDestination(file); // written when the program exits
+            recording.start();
+            System.out.println("Flight Recorder is recording to " + file.toAbsolutePath());
+        } catch (IOException | ParseException e) {
+            System.out.println("Error starting Flight Recorder: " + e.getMessage());
+        }
+    }
 }
@@ -5,8 +5,6 @@ import javax.swing.ImageIcon;
 
 public class MainMenu {
 
-    private static JLabel imageLabel;
-
     public static void main(String[] args) {
         // Create the main window
         JFrame frame = new JFrame("Main menu");
@@ -17,20 +15,13 @@ public class MainMenu {
         JLayeredPane layeredPane = new JLayeredPane();
         layeredPane.setPreferredSize(new Dimension(1280, 800));
 
-        // Load the background image
-        ImageIcon originalIcon = new ImageIcon(MainMenu.class.getResource("/SoccerGUI.png"));
-
-        // Scale the background image to fit better
-        Image originalImage = originalIcon.getImage();
+        // Load the background image and scale it to fit better (shared through the AssetCache)
         double widthScaleFactor = 0.85;   // Make image 85% of original width
         double heightScaleFactor = 1;     // Keep original height
-        int scaledWidth = (int)(originalIcon.getIconWidth() * widthScaleFactor);
-        int scaledHeight = (int)(originalIcon.getIconHeight() * heightScaleFactor);
-        Image scaledImage = originalImage.getScaledInstance(scaledWidth, scaledHeight, Image.SCALE_SMOOTH);
-        ImageIcon scaledIcon = new ImageIcon(scaledImage);
+        ImageIcon scaledIcon = new ImageIcon(AssetCache.acquireImage("/SoccerGUI.png", widthScaleFactor, heightScaleFactor));
 
-        // Create label to hold the background image
-        imageLabel = new JLabel(scaledIcon);
+        // Create label to hold the background image (not static, so it goes away with the menu)
+        JLabel imageLabel = new JLabel(scaledIcon);
         imageLabel.setHorizontalAlignment(JLabel.CENTER);  // Center the image horizontally
         imageLabel.setVerticalAlignment(JLabel.CENTER);    // Center the image vertically
         imageLabel.setBounds(0, 0, 1280, 800);  // Fill entire window
@@ -61,12 +52,23 @@ public class MainMenu {
         instructionsButton.setOpaque(true);
         instructionsButton.setBorderPainted(false);
 
+        // Create "Split Screen" button with same styling
+        JButton splitScreenButton = new JButton("Split Screen");
+        splitScreenButton.setPreferredSize(new Dimension(200, 50));
+        splitScreenButton.setFont(new Font("Arial", Font.BOLD, 16));
+
+        splitScreenButton.setBackground(new Color(50, 142, 40));  // Same green as Play button
+        splitScreenButton.setForeground(Color.WHITE);
+        splitScreenButton.setOpaque(true);
+        splitScreenButton.setBorderPainted(false);
+
         // Add buttons to the panel
         buttonPanel.add(startButton);
+        buttonPanel.add(splitScreenButton);
         buttonPanel.add(instructionsButton);
 
         // Position the button panel at the bottom center of screen
-        int buttonPanelWidth = 700;
+        int buttonPanelWidth = 800;  // Wide enough for 3 buttons in a row
         int buttonPanelHeight = 200;
         int buttonPanelX = (1280 - buttonPanelWidth) / 2;  // Center horizontally
         int buttonPanelY = 550;  // Position near bottom of screen
@@ -80,13 +82,27 @@ public class MainMenu {
         // When Play button is clicked, close menu and start game
         startButton.addActionListener(e -> {
             frame.dispose();  // Close the main menu window
+            AssetCache.release(AssetCache.imageKey("/SoccerGUI.png", widthScaleFactor, heightScaleFactor));
             new Game();       // Start the game
         });
 
+        // When Split Screen button is clicked, ask how many players, then start split screen mode
+        splitScreenButton.addActionListener(e -> {
+            Object[] choices = {2, 3, 4};
+            Object players = JOptionPane.showInputDialog(frame, "How many goalkeepers?", "Split Screen",
+                    JOptionPane.QUESTION_MESSAGE, null, choices, choices[0]);
+            if (players == null) {
+                return;  // Cancelled - stay on the menu
+            }
+            frame.dispose();  // Close the main menu window
+            AssetCache.release(AssetCache.imageKey("/SoccerGUI.png", widthScaleFactor, heightScaleFactor));
+            new SplitScreenGame((Integer) players);
+        });
+
         // When Instructions button is clicked, show instructions popup
         instructionsButton.addActionListener(e -> {
-            // Load the instructions background image
-            ImageIcon instructionsIcon = new ImageIcon(MainMenu.class.getResource("/Instructions.png"));
+            // Load the instructions background image at its own size
+            ImageIcon instructionsIcon = new ImageIcon(AssetCache.acquireImage("/Instructions.png", 1.0, 1.0));
 
             // Create custom panel that draws background image
             JPanel instructionsPanel = new JPanel() {
@@ -129,7 +145,8 @@ public class MainMenu {
             dialog.add(instructionsPanel);
             dialog.pack();
             dialog.setLocationRelativeTo(frame);  // Center dialog on main window
-            dialog.setVisible(true);  // Show the dialog
+            dialog.setVisible(true);  // Show the dialog (waits here until it's closed)
+            AssetCache.release(AssetCache.imageKey("/Instructions.png", 1.0, 1.0));
         });
 
         // Add layered pane to main window and show it
@@ -0,0 +1,217 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Measures how fast the full game scene renders - background, goalie, ball and all the HUD boxes.
+// The scene is painted into an offscreen image thousands of times with scripted ball and goalie movement
+// (dives included), at several window sizes and with several Java2D rendering pipelines.
+//
+// Usage: RenderBenchmark [frames]
+// Every run is in its own JVM because the pipeline can only be picked when Java starts.
+// The screen pipelines (xrender, x11, opengl) all draw into a VolatileImage, so only the pipeline changes
+// between them, and they're skipped on machines without a screen. "headless" is not a pipeline: it draws
+// into a plain BufferedImage in software, so it works everywhere but can't be compared directly with the others.
+public class RenderBenchmark {
+    private static final int WARMUP_FRAMES = 300; // not measured, lets the JIT and image caches settle
+    private static final int SHOT_FRAMES = 30; // frames per scripted shot
+    private static final int[][] RESOLUTIONS = {{1280, 800}, {1920, 1200}, {2560, 1600}};
+
+    private static final String HEADLESS = "headless"; // software drawing into a BufferedImage
+
+    // Run name and the JVM options that pick it
+    private static final String[][] PIPELINES = {
+            {HEADLESS, "-Djava.awt.headless=true"},
+            {"xrender", "-Dsun.java2d.xrender=true"}, // the default on Linux
+            {"x11", "-Dsun.java2d.xrender=false"},
+            {"opengl", "-Dsun.java2d.opengl=true"}
+    };
+
+    // Leaderboard rows shown in the scene - fixed, so the scene is the same on every machine
+    private static final String[] LEADERBOARD_NAMES = {"Alex", "Sam", "Jordan", "Taylor", "Casey"};
+    private static final int[] LEADERBOARD_WINS = {12, 9, 7, 4, 1};
+
+    private JLayeredPane scene; // same layers and sizes as Game
+    private Goalkeeper goalie;
+    private Ball ball;
+    private HudPanel scoreHud;
+
+    // Build the game scene without a window
+    private void buildScene() {
+        scene = new JLayeredPane();
+        scene.setSize(1280, 800);
+
+        JLabel backgroundLabel = new JLabel(new ImageIcon(AssetCache.acquireImage("/SoccerNet.png", 1280, 800)));
+        backgroundLabel.setBounds(0, 0, 1280, 800);
+        scene.add(backgroundLabel, JLayeredPane.DEFAULT_LAYER);
+
+        goalie = new Goalkeeper(490, 275, "/SoccerGoalie.png");
+        scene.add(goalie.getLabel(), JLayeredPane.PALETTE_LAYER);
+        ball = new Ball("/Ball.png");
+        scene.add(ball.getLabel(), JLayeredPane.MODAL_LAYER);
+
+        scoreHud = new HudPanel(new Font("Arial", Font.BOLD, 30), 2);
+        scoreHud.setLine(0, "Saves: ", 0, "");
+        scoreHud.setLine(1, "Goals: ", 0, "");
+        scoreHud.setBounds(1075, 700, 200, 80);
+        scene.add(scoreHud, JLayeredPane.DRAG_LAYER);
+
+        HudPanel gameHud = new HudPanel(new Font("Arial", Font.BOLD, 30), 2);
+        gameHud.setLine(0, "Wins: ", 0, "");
+        gameHud.setLine(1, "Losses: ", 0, "");
+        gameHud.setBounds(20, 700, 170, 80);
+        scene.add(gameHud, JLayeredPane.DRAG_LAYER);
+
+        HudPanel leaderboardHud = new HudPanel(new Font("Arial", Font.BOLD, 16), 6);
+        leaderboardHud.setLine(0, "LEADERBOARD", HudPanel.NO_NUMBER, "");
+        for (int i = 0; i < 5; i++) {
+            leaderboardHud.setLine(i + 1, (i + 1) + ". " + LEADERBOARD_NAMES[i] + ": ", LEADERBOARD_WINS[i], " wins");
+        }
+        leaderboardHud.setBounds(1050, 20, 220, 160);
+        leaderboardHud.setVerticalAlignment(SwingConstants.TOP);
+        scene.add(leaderboardHud, JLayeredPane.DRAG_LAYER);
+    }
+
+    // Move everything for one frame - the same script every run so results can be compared
+    private void script(int frame) {
+        int shot = frame / SHOT_FRAMES;
+        int step = frame % SHOT_FRAMES;
+        if (step == 0) {
+            goalie.reset();
+            scoreHud.setNumber(0, shot % 5);
+            scoreHud.setNumber(1, (shot / 2) % 5);
+        }
+
+        // Ball flies in a straight line from the penalty spot to one of the 8 shot positions
+        int[] target = Ball.SHOT_POSITIONS[shot % Ball.SHOT_POSITIONS.length];
+        int ballX = Ball.START_X + (target[0] - Ball.START_X) * step / (SHOT_FRAMES - 1);
+        int ballY = Ball.START_Y + (target[1] - Ball.START_Y) * step / (SHOT_FRAMES - 1);
+        ball.getLabel().setLocation(ballX, ballY);
+
+        // Goalie shuffles towards the ball, then dives halfway through the shot
+        if (step < SHOT_FRAMES / 2) {
+            if (target[0] < 580) {
+                goalie.moveLeft();
+            } else {
+                goalie.moveRight();
+            }
+        } else if (step == SHOT_FRAMES / 2) {
+            boolean left = target[0] < 580;
+            boolean high = target[1] < 330;
+            goalie.dive(high ? (left ? -45 : 45) : (left ? -135 : 135));
+        }
+    }
+
+    // Render the scene at one size and print the results
+    private void run(String pipeline, int width, int height, int frames) {
+        boolean software = pipeline.equals(HEADLESS);
+        Image target;
+        if (software) {
+            target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        } else {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            target = config.createCompatibleVolatileImage(width, height);
+        }
+
+        long[] frameTimes = new long[frames];
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = 0;
+        long start = 0;
+
+        for (int frame = -WARMUP_FRAMES; frame < frames; frame++) {
+            if (frame == 0) {
+                allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+                start = System.nanoTime();
+            }
+            long frameStart = System.nanoTime();
+
+            script(frame + WARMUP_FRAMES);
+            Graphics2D g = software ? ((BufferedImage) target).createGraphics() : ((VolatileImage) target).createGraphics();
+            g.scale(width / 1280.0, height / 800.0);
+            scene.paint(g);
+            g.dispose();
+            if (!software) {
+                Toolkit.getDefaultToolkit().sync(); // wait until the graphics card is really done
+            }
+
+            if (frame >= 0) {
+                frameTimes[frame] = System.nanoTime() - frameStart;
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        Arrays.sort(frameTimes);
+        long p99 = frameTimes[(int) Math.ceil(frames * 0.99) - 1];
+
+        System.out.printf("%-9s %5dx%-5d %8.1f fps  p99 %6.2f ms  %8d bytes/frame%n",
+                pipeline, width, height, frames / seconds, p99 / 1_000_000.0, allocated / frames);
+    }
+
+    // Run one pipeline in this JVM at every size
+    private static void runPipeline(String pipeline, int frames) {
+        if (!pipeline.equals(HEADLESS) && GraphicsEnvironment.isHeadless()) {
+            System.out.printf("%-9s skipped - needs a screen%n", pipeline);
+            return;
+        }
+        RenderBenchmark benchmark = new RenderBenchmark();
+        benchmark.buildScene();
+        for (int[] resolution : RESOLUTIONS) {
+            benchmark.run(pipeline, resolution[0], resolution[1], frames);
+        }
+    }
+
+    // Start a new JVM for one pipeline and print what it prints
+    private static void forkPipeline(String[] pipeline, int frames) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(Arrays.asList(pipeline).subList(1, pipeline.length));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(RenderBenchmark.class.getName());
+        command.add("--pipeline=" + pipeline[0]);
+        command.add(String.valueOf(frames));
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                System.out.println(line);
+            }
+        }
+        process.waitFor();
+    }
+
+    // Main method - runs every pipeline, or just one when started with --pipeline=<name>
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String onlyPipeline = null;
+        int frames = 2000;
+        for (String arg : args) {
+            if (arg.startsWith("--pipeline=")) {
+                onlyPipeline = arg.substring("--pipeline=".length());
+            } else {
+                frames = Integer.parseInt(arg);
+            }
+        }
+
+        if (onlyPipeline != null) {
+            runPipeline(onlyPipeline, frames);
+            return;
+        }
+
+        System.out.println("Rendering the full game scene, " + frames + " frames per size");
+        for (String[] pipeline : PIPELINES) {
+            forkPipeline(pipeline, frames);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.util.Random;
+import java.util.concurrent.*;
+
+// Renders a simulated match offscreen (no window) and saves it as a PNG sequence or an MJPEG file.
+// Works on headless machines. Usage: ReplayExporter <output> [frames] [png|mjpeg]
+public class ReplayExporter {
+    private static final int WIDTH = 1280; // same size as the game window
+    private static final int HEIGHT = 800;
+    private static final int FRAME_DELAY = 50; // same 50ms tick as the game timer, so 20 frames per second
+    private static final int PAUSE_FRAMES = 20; // how long to hold the picture after a save or goal
+    private static final byte[] NO_BYTES = new byte[0]; // result of a frame that was saved as its own PNG
+    private static final byte[] END_OF_REPLAY = new byte[0]; // marks the last frame for the writer
+
+    private final File output; // folder for PNG frames, or the .mjpeg file
+    private final int frameCount; // how many frames to render
+    private final boolean mjpeg; // true for one MJPEG file, false for a PNG sequence
+    private final int encoderThreads; // how many threads encode frames at the same time
+
+    private Image background; // the soccer field, scaled the same way as in Game
+    private Goalkeeper goalie; // simulated goalie
+    private Ball ball; // simulated ball
+    private Random random = new Random(); // picks when the goalie dives
+    private boolean dived; // the goalie only dives once per shot
+
+    // Reusable frames - the renderer takes one, the encoder gives it back when done
+    private BlockingQueue<BufferedImage> freeFrames;
+
+    // Constructor - sets up where and how the replay gets saved
+    public ReplayExporter(File output, int frameCount, boolean mjpeg) {
+        this.output = output;
+        this.frameCount = frameCount;
+        this.mjpeg = mjpeg;
+        this.encoderThreads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1); // leave one core for rendering
+    }
+
+    // Render every frame and encode them on the other cores, returns frames per second
+    public double export() throws IOException, InterruptedException {
+        loadSprites();
+
+        // Only a few frames exist at once so memory stays flat no matter how long the match is
+        int bufferCount = encoderThreads * 2;
+        freeFrames = new ArrayBlockingQueue<>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            freeFrames.add(new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB)); // RGB because JPEG has no alpha
+        }
+
+        ExecutorService encoders = Executors.newFixedThreadPool(encoderThreads);
+        BlockingQueue<Future<byte[]>> pending = new ArrayBlockingQueue<>(bufferCount); // encoded frames in order
+        OutputStream mjpegOut = null;
+
+        if (mjpeg) {
+            mjpegOut = new BufferedOutputStream(new FileOutputStream(output));
+        } else if (!output.isDirectory() && !output.mkdirs()) {
+            throw new IOException("Could not create folder: " + output);
+        }
+        Future<?> writer = startWriter(pending, mjpegOut);
+
+        long startTime = System.nanoTime();
+        try {
+            int pauseLeft = 0; // frames left to wait before the next shot
+            ball.startShot();
+
+            for (int frame = 0; frame < frameCount; frame++) {
+                pauseLeft = simulate(pauseLeft);
+
+                BufferedImage image = freeFrames.take(); // waits if the encoders are behind
+                drawFrame(image);
+
+                queueForWriter(pending, encoders.submit(encodeTask(image, frame)), writer);
+            }
+
+            queueForWriter(pending, CompletableFuture.completedFuture(END_OF_REPLAY), writer); // tells the writer we're done
+            writer.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Error writing replay", e.getCause());
+        } finally {
+            encoders.shutdownNow();
+            writer.cancel(true); // if drawing failed the writer is still waiting for frames - stop it so Java can exit
+            if (mjpegOut != null) {
+                mjpegOut.close();
+            }
+        }
+
+        double seconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        return frameCount / seconds;
+    }
+
+    // Load the same sprites the game uses
+    private void loadSprites() {
+        background = AssetCache.acquireImage("/SoccerNet.png", WIDTH, HEIGHT);
+        goalie = new Goalkeeper(490, 275, "/SoccerGoalie.png");
+        ball = new Ball("/Ball.png");
+    }
+
+    // Move the ball and goalie forward by one tick, returns how many pause frames are left
+    private int simulate(int pauseLeft) {
+        if (pauseLeft > 0) {
+            pauseLeft--;
+            if (pauseLeft == 0) {
+                // Next shot - same reset as the game does
+                goalie.reset();
+                ball.reset();
+                ball.startShot();
+                dived = false;
+            }
+            return pauseLeft;
+        }
+
+        // Goalie follows the ball sideways, then sometimes dives towards it
+        if (ball.getX() + 60 < goalie.getX() + 150) {
+            goalie.moveLeft();
+        } else if (ball.getX() + 60 > goalie.getX() + 150) {
+            goalie.moveRight();
+        }
+        if (!dived && ball.getY() < 500 && random.nextInt(4) == 0) {
+            dived = true;
+            boolean left = ball.getX() < 580;
+            boolean high = ball.getY() < 330;
+            goalie.dive(high ? (left ? -45 : 45) : (left ? -135 : 135));
+        }
+
+        if (ball.update()) {
+            return PAUSE_FRAMES; // shot finished, hold the picture for a bit
+        }
+        return 0;
+    }
+
+    // Draw the whole scene into a reusable frame
+    private void drawFrame(BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        g.drawImage(background, 0, 0, null);
+
+        // Goalie - centred in its 300x400 spot and cut off at the edges, the same way its JLabel shows it in Game
+        // (dive images are bigger than the spot because they're rotated)
+        Icon goalieIcon = goalie.getLabel().getIcon();
+        Graphics2D goalieG = (Graphics2D) g.create(goalie.getX(), goalie.getY(), Goalkeeper.WIDTH, Goalkeeper.HEIGHT);
+        goalieIcon.paintIcon(null, goalieG, (Goalkeeper.WIDTH - goalieIcon.getIconWidth()) / 2,
+                (Goalkeeper.HEIGHT - goalieIcon.getIconHeight()) / 2);
+        goalieG.dispose();
+
+        ball.getLabel().getIcon().paintIcon(null, g, ball.getX(), ball.getY());
+        g.dispose();
+    }
+
+    // Encode one frame, then give the image back so the renderer can reuse it
+    private Callable<byte[]> encodeTask(BufferedImage image, int frame) {
+        return () -> {
+            try {
+                if (mjpeg) {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 * 1024);
+                    ImageIO.write(image, "jpg", bytes);
+                    return bytes.toByteArray();
+                }
+                ImageIO.write(image, "png", new File(output, String.format("frame_%05d.png", frame)));
+                return NO_BYTES; // PNG frames are already saved to their own file
+            } finally {
+                freeFrames.put(image);
+            }
+        };
+    }
+
+    // Hand a frame to the writer in order, stops waiting if the writer has crashed
+    private void queueForWriter(BlockingQueue<Future<byte[]>> pending, Future<byte[]> frame, Future<?> writer)
+            throws InterruptedException, ExecutionException {
+        while (!pending.offer(frame, 100, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) {
+                writer.get(); // throws the writer's error
+            }
+        }
+    }
+
+    // Wait for each encoded frame in order and write JPEGs one after another into the MJPEG file
+    private Future<?> startWriter(BlockingQueue<Future<byte[]>> pending, OutputStream out) {
+        ExecutorService writerThread = Executors.newSingleThreadExecutor();
+        Future<?> writer = writerThread.submit(() -> {
+            while (true) {
+                byte[] jpeg = pending.take().get(); // throws if encoding this frame failed
+                if (jpeg == END_OF_REPLAY) {
+                    return null; // no more frames
+                }
+                if (out != null) {
+                    out.write(jpeg);
+                }
+            }
+        });
+        writerThread.shutdown();
+        return writer;
+    }
+
+    // Main method - run it from the command line to export a replay
+    public static void main(String[] args) throws Exception {
+        // Run without a screen unless the user asked otherwise
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+
+        if (args.length == 0) {
+            System.out.println("Usage: ReplayExporter <output> [frames] [png|mjpeg]");
+            return;
+        }
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        boolean mjpeg = args.length > 2 ? args[2].equalsIgnoreCase("mjpeg") : args[0].endsWith(".mjpeg");
+
+        ReplayExporter exporter = new ReplayExporter(new File(args[0]), frames, mjpeg);
+        double fps = exporter.export();
+        System.out.printf("Rendered %d frames (%d ms of game time) at %.1f frames per second%n",
+                frames, frames * FRAME_DELAY, fps);
+    }
+}
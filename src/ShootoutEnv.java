@@ -0,0 +1,257 @@
+// Runs many penalty shootouts at once so a computer goalkeeper can be trained.
+// Uses the same numbers as Ball and Goalkeeper, but keeps every shootout in plain arrays so stepping
+// thousands of them is one simple loop. Each episode is one shot: +1 for a save, -1 for a goal.
+//
+// Actions: 0 = do nothing, 1-4 = move left/right/up/down, 5-8 = dive top left/top right/bottom left/bottom right
+// Observation for each shootout: ball x, ball y, goalie x, goalie y
+public class ShootoutEnv {
+    public static final int ACTION_COUNT = 9;
+    public static final int OBSERVATION_SIZE = 4;
+
+    // Dives, in action order - distances come from Goalkeeper so they can't drift from the game
+    private static final int[] DIVE_DIRECTIONS = {-45, 45, -135, 135};
+    private static final int[] DIVE_DISTANCE_X = new int[4];
+    private static final int[] DIVE_DISTANCE_Y = new int[4];
+    static {
+        for (int dive = 0; dive < 4; dive++) {
+            DIVE_DISTANCE_X[dive] = Goalkeeper.getDiveDistanceX(DIVE_DIRECTIONS[dive]);
+            DIVE_DISTANCE_Y[dive] = Goalkeeper.getDiveDistanceY(DIVE_DIRECTIONS[dive]);
+        }
+    }
+
+    private static final int GOALIE_START_X = 490; // same start as in Game
+    private static final int GOALIE_START_Y = 275;
+
+    // Collision boxes, same sizes as Goalkeeper.getCollisionBounds() and Ball.getCollisionBounds()
+    private static final int GOALIE_BOX_W = Goalkeeper.WIDTH * 19 / 40;
+    private static final int GOALIE_BOX_H = Goalkeeper.HEIGHT * 19 / 40;
+    private static final int BALL_BOX = Ball.SIZE * 22 / 40;
+
+    private final int count; // how many shootouts
+
+    // State of every shootout, one slot per shootout
+    private final int[] ballX;
+    private final int[] ballY;
+    private final int[] targetX;
+    private final int[] targetY;
+    private final int[] goalieX;
+    private final int[] goalieY;
+    private final int[] diveDirection; // last dive, 0 when standing
+    private final long[] randomState; // each shootout picks its own shots
+
+    // Results of the last step - reused every step so stepping makes no garbage
+    private final float[] observations;
+    private final float[] rewards;
+    private final byte[] dones;
+
+    // Constructor - makes the given number of shootouts, already reset with seed 0
+    // (so stepping before the first reset still gets random shots)
+    public ShootoutEnv(int count) {
+        this.count = count;
+        ballX = new int[count];
+        ballY = new int[count];
+        targetX = new int[count];
+        targetY = new int[count];
+        goalieX = new int[count];
+        goalieY = new int[count];
+        diveDirection = new int[count];
+        randomState = new long[count];
+        observations = new float[count * OBSERVATION_SIZE];
+        rewards = new float[count];
+        dones = new byte[count];
+        reset(0);
+    }
+
+    // Start every shootout over - the same seed always gives the same shots
+    public float[] reset(long seed) {
+        for (int i = 0; i < count; i++) {
+            randomState[i] = mix(seed + i);
+            startShot(i);
+            writeObservation(i);
+            rewards[i] = 0;
+            dones[i] = 0;
+        }
+        return observations;
+    }
+
+    // Move every shootout forward by one game tick (50ms), one action per shootout.
+    // Finished shootouts start a new shot right away, their done flag tells the trainer.
+    public void step(byte[] actions) {
+        for (int i = 0; i < count; i++) {
+            applyAction(i, actions[i]);
+
+            rewards[i] = 0;
+            dones[i] = 0;
+            if (moveBall(i)) {
+                rewards[i] = isSave(i) ? 1 : -1;
+                dones[i] = 1;
+                startShot(i);
+            }
+            writeObservation(i);
+        }
+    }
+
+    // Move or dive the goalie - same limits as Goalkeeper
+    private void applyAction(int i, int action) {
+        switch (action) {
+            case 1: // Left
+                if (goalieX[i] > Goalkeeper.MIN_X) {
+                    goalieX[i] -= Goalkeeper.SPEED;
+                }
+                break;
+            case 2: // Right
+                if (goalieX[i] < Goalkeeper.MAX_X) {
+                    goalieX[i] += Goalkeeper.SPEED;
+                }
+                break;
+            case 3: // Up
+                if (goalieY[i] > Goalkeeper.MIN_Y) {
+                    goalieY[i] -= Goalkeeper.SPEED;
+                }
+                break;
+            case 4: // Down
+                if (goalieY[i] < Goalkeeper.MAX_Y) {
+                    goalieY[i] += Goalkeeper.SPEED;
+                }
+                break;
+            case 5:
+            case 6:
+            case 7:
+            case 8: // Dives
+                int dive = action - 5;
+                diveDirection[i] = DIVE_DIRECTIONS[dive];
+                goalieX[i] = Math.max(0, Math.min(goalieX[i] + DIVE_DISTANCE_X[dive], 1280 - Goalkeeper.WIDTH));
+                goalieY[i] = Math.max(0, Math.min(goalieY[i] + DIVE_DISTANCE_Y[dive], 800 - Goalkeeper.HEIGHT));
+                break;
+        }
+    }
+
+    // Same movement as Ball.update() - returns true when the ball reaches its target
+    private boolean moveBall(int i) {
+        int deltaX = targetX[i] - ballX[i];
+        int deltaY = targetY[i] - ballY[i];
+        double distance = Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+        if (distance > Ball.SPEED) {
+            ballX[i] += (int) ((deltaX / distance) * Ball.SPEED);
+            ballY[i] += (int) ((deltaY / distance) * Ball.SPEED);
+            return false;
+        }
+        ballX[i] = targetX[i];
+        ballY[i] = targetY[i];
+        return true;
+    }
+
+    // Same check as Goalkeeper.isCollidingWithBall()
+    private boolean isSave(int i) {
+        int goalieLeft = goalieX[i] + (Goalkeeper.WIDTH - GOALIE_BOX_W) / 2;
+        int goalieTop = goalieY[i] + (Goalkeeper.HEIGHT - GOALIE_BOX_H) / 2;
+        int ballLeft = ballX[i] + (Ball.SIZE - BALL_BOX) / 2;
+        int ballTop = ballY[i] + (Ball.SIZE - BALL_BOX) / 2;
+        return ballLeft < goalieLeft + GOALIE_BOX_W && goalieLeft < ballLeft + BALL_BOX
+                && ballTop < goalieTop + GOALIE_BOX_H && goalieTop < ballTop + BALL_BOX;
+    }
+
+    // Put the ball and goalie back and pick a new random shot, like Game does after each shot
+    private void startShot(int i) {
+        ballX[i] = Ball.START_X;
+        ballY[i] = Ball.START_Y;
+        int shot = nextRandom(i, Ball.SHOT_POSITIONS.length);
+        targetX[i] = Ball.SHOT_POSITIONS[shot][0];
+        targetY[i] = Ball.SHOT_POSITIONS[shot][1];
+        goalieX[i] = GOALIE_START_X;
+        goalieY[i] = GOALIE_START_Y;
+        diveDirection[i] = 0;
+    }
+
+    // Copy one shootout's positions into the observation array
+    private void writeObservation(int i) {
+        int o = i * OBSERVATION_SIZE;
+        observations[o] = ballX[i];
+        observations[o + 1] = ballY[i];
+        observations[o + 2] = goalieX[i];
+        observations[o + 3] = goalieY[i];
+    }
+
+    // Small fast random number generator (xorshift), one per shootout so results don't depend on order
+    private int nextRandom(int i, int bound) {
+        long r = randomState[i];
+        r ^= r << 13;
+        r ^= r >>> 7;
+        r ^= r << 17;
+        randomState[i] = r;
+        return (int) ((r >>> 33) % bound);
+    }
+
+    // Spread a seed's bits out so neighbouring seeds give different shots (never returns 0)
+    private static long mix(long seed) {
+        long z = seed + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return z == 0 ? 1 : z;
+    }
+
+    // Get how many shootouts there are
+    public int getCount() {
+        return count;
+    }
+
+    // Observations after the last reset or step (4 numbers per shootout)
+    public float[] getObservations() {
+        return observations;
+    }
+
+    // Rewards from the last step
+    public float[] getRewards() {
+        return rewards;
+    }
+
+    // 1 for every shootout whose shot finished in the last step
+    public byte[] getDones() {
+        return dones;
+    }
+
+    // Goalie dive direction for each shootout, for drawing or debugging
+    public int getDiveDirection(int i) {
+        return diveDirection[i];
+    }
+
+    // Main method - measures how many steps per second we can do. Usage: ShootoutEnv [shootouts] [seconds]
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        ShootoutEnv env = new ShootoutEnv(count);
+        env.reset(42);
+        byte[] actions = new byte[count];
+        long random = 1;
+        long steps = 0;
+        int saves = 0;
+        int shots = 0;
+
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < count; i++) {
+                random ^= random << 13;
+                random ^= random >>> 7;
+                random ^= random << 17;
+                actions[i] = (byte) ((random >>> 33) % ACTION_COUNT);
+            }
+            env.step(actions);
+            for (int i = 0; i < count; i++) {
+                if (env.dones[i] != 0) {
+                    shots++;
+                    if (env.rewards[i] > 0) {
+                        saves++;
+                    }
+                }
+            }
+            steps += count;
+        }
+
+        double elapsed = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("%d shootouts: %.0f steps per second, random goalie saved %d of %d shots%n",
+                count, steps / elapsed, saves, shots);
+    }
+}
@@ -0,0 +1,118 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+// Lets a trainer in another program (for example Python) drive a ShootoutEnv over a local socket.
+// Usage: ShootoutEnvServer [port] [shootouts]
+//
+// Everything is little-endian so it can be read straight into numpy arrays.
+// When a trainer connects we send: shootout count (int), observation size (int).
+// Then the trainer sends one command at a time:
+//   'R' + seed (long)         -> we reply with the observations (float per value)
+//   'S' + one action per shootout (byte each)
+//                             -> we reply with observations (floats), rewards (float each), dones (byte each)
+//   'Q'                       -> we close the connection
+public class ShootoutEnvServer {
+    private final ShootoutEnv env;
+    private final int port;
+
+    // Buffers are made once and reused for every step
+    private final ByteBuffer command = ByteBuffer.allocateDirect(1 + 8).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer actionBytes;
+    private final ByteBuffer reply;
+    private final byte[] actions;
+
+    // Constructor - makes the shootouts the trainer will control
+    public ShootoutEnvServer(int port, int count) {
+        this.port = port;
+        this.env = new ShootoutEnv(count);
+        actions = new byte[count];
+        actionBytes = ByteBuffer.allocateDirect(count);
+        reply = ByteBuffer.allocateDirect(count * (ShootoutEnv.OBSERVATION_SIZE * 4 + 4 + 1)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Wait for trainers and serve them one at a time, forever
+    public void serve() throws IOException {
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port)); // only this computer
+            System.out.println("Shootout environment with " + env.getCount() + " shootouts on port " + port);
+            while (true) {
+                try (SocketChannel trainer = server.accept()) {
+                    trainer.socket().setTcpNoDelay(true);
+                    handleTrainer(trainer);
+                } catch (IOException e) {
+                    System.out.println("Trainer disconnected: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Answer one trainer's commands until they quit
+    private void handleTrainer(SocketChannel trainer) throws IOException {
+        reply.clear();
+        reply.putInt(env.getCount());
+        reply.putInt(ShootoutEnv.OBSERVATION_SIZE);
+        writeReply(trainer);
+
+        while (true) {
+            command.clear().limit(1);
+            readFully(trainer, command);
+            byte type = command.get(0);
+
+            if (type == 'R') {
+                command.clear().limit(8);
+                readFully(trainer, command);
+                env.reset(command.getLong(0));
+                reply.clear();
+                reply.asFloatBuffer().put(env.getObservations());
+                reply.position(env.getCount() * ShootoutEnv.OBSERVATION_SIZE * 4);
+            } else if (type == 'S') {
+                actionBytes.clear();
+                readFully(trainer, actionBytes);
+                actionBytes.flip();
+                actionBytes.get(actions);
+                env.step(actions);
+
+                // Observations, then rewards, then dones
+                reply.clear();
+                reply.asFloatBuffer().put(env.getObservations()).put(env.getRewards());
+                reply.position(env.getCount() * (ShootoutEnv.OBSERVATION_SIZE + 1) * 4);
+                reply.put(env.getDones());
+            } else if (type == 'Q') {
+                return;
+            } else {
+                throw new IOException("Unknown command: " + type);
+            }
+            writeReply(trainer);
+        }
+    }
+
+    // Keep reading until the buffer is full
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("connection closed");
+            }
+        }
+    }
+
+    // Send everything that was put in the reply buffer
+    private void writeReply(SocketChannel channel) throws IOException {
+        reply.flip();
+        while (reply.hasRemaining()) {
+            channel.write(reply);
+        }
+    }
+
+    // Main method - starts the server
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 5056;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        new ShootoutEnvServer(port, count).serve();
+    }
+}
@@ -0,0 +1,17 @@
+import jdk.jfr.*;
+
+// Flight Recorder event: a shot ended in a save or a goal - Game.checkGoalOrSave()
+@Name("soccer.ShotResult")
+@Label("Shot Result")
+@Category("Soccer Game")
+@Description("A shot ended in a save or a goal - Game.checkGoalOrSave()")
+public class ShotResultEvent extends Event {
+    @Label("Outcome")
+    String outcome; // Save or Goal
+
+    @Label("Saves")
+    int saves; // saves this round after the shot
+
+    @Label("Goals")
+    int goals; // goals this round after the shot
+}
@@ -0,0 +1,14 @@
+import jdk.jfr.*;
+
+// Flight Recorder event: the striker shoots - Ball.startShot()
+@Name("soccer.ShotStart")
+@Label("Shot Start")
+@Category("Soccer Game")
+@Description("The striker shoots - Ball.startShot()")
+public class ShotStartEvent extends Event {
+    @Label("Target X")
+    int targetX; // where the ball is going (x)
+
+    @Label("Target Y")
+    int targetY; // where the ball is going (y)
+}
@@ -0,0 +1,52 @@
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.LineEvent;
+import javax.sound.sampled.LineUnavailableException;
+
+// Plays the sound effects (cheer and boo), using sounds decoded once by the AssetCache
+public class SoundPlayer {
+    // Play a sound effect from the resources folder - returns right away, the sound plays in the background
+    public static void play(String soundFilePath) {
+        SoundSetupEvent setupEvent = new SoundSetupEvent(); // times the setup for Flight Recorder
+        setupEvent.begin();
+        try {
+            // Make the clip first - if there's no sound device this throws and nothing has been acquired yet
+            Clip clip = AudioSystem.getClip();
+
+            // Get the decoded sound (only read from the file the first time)
+            AssetCache.Sound sound = AssetCache.acquireSound(soundFilePath);
+            if (sound == null) {
+                return; // AssetCache already printed what went wrong
+            }
+            String soundKey = AssetCache.soundKey(soundFilePath);
+
+            // Play the clip, then close it and let go of the sound when it's done
+            boolean listening = false; // true once the STOP listener owns the sound
+            try {
+                clip.addLineListener(event -> {
+                    if (event.getType() == LineEvent.Type.STOP) {
+                        clip.close();
+                        AssetCache.release(soundKey);
+                    }
+                });
+                clip.open(sound.format, sound.data, 0, sound.data.length);
+                clip.start();
+                listening = true;
+            } finally {
+                if (!listening) {
+                    AssetCache.release(soundKey); // the clip never started, so no STOP is coming
+                }
+            }
+        }
+        catch (LineUnavailableException | IllegalArgumentException e) {
+            System.out.println("Error playing sound: " + e.getMessage());
+        }
+        finally {
+            // Failed setups are recorded too - they're often the slow ones
+            if (setupEvent.shouldCommit()) {
+                setupEvent.path = soundFilePath;
+                setupEvent.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+import jdk.jfr.*;
+
+// Flight Recorder event: time spent getting a sound ready to play - SoundPlayer.play()
+@Name("soccer.SoundSetup")
+@Label("Sound Setup")
+@Category("Soccer Game")
+@Description("Time spent getting a sound ready to play - SoundPlayer.play()")
+public class SoundSetupEvent extends Event {
+    @Label("Path")
+    String path; // sound being played
+}
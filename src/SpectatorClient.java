@@ -0,0 +1,117 @@
+import javax.swing.*;
+import java.awt.*;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+
+// Spectator screen - connects to a running game's SpectatorServer and draws the match it streams.
+// Usage: SpectatorClient [host] [port]
+public class SpectatorClient extends JPanel {
+    private final Image background; // soccer field, same as in Game
+    private final Image goalieImage; // standing goalie, rotated here when diving
+    private final Image ballImage;
+
+    private final short[] keyframe = new short[SpectatorServer.FIELD_COUNT]; // last keyframe received
+    private volatile short[] state = new short[SpectatorServer.FIELD_COUNT]; // what's drawn on screen
+    private int keyframeNumber = -1; // number of the last keyframe received
+
+    // Constructor - loads the same images the game uses
+    public SpectatorClient() {
+        background = AssetCache.acquireImage("/SoccerNet.png", 1280, 800);
+        goalieImage = AssetCache.acquireImage("/SoccerGoalie.png", 300, 400);
+        ballImage = AssetCache.acquireImage("/Ball.png", 120, 120);
+        setPreferredSize(new Dimension(1280, 800));
+    }
+
+    // Read frames from the server until it disconnects
+    public void watch(String host, int port) throws IOException {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            while (true) {
+                readFrame(in);
+            }
+        } catch (EOFException e) {
+            System.out.println("The match stream ended.");
+        }
+    }
+
+    // Read one keyframe or delta and update the screen
+    private void readFrame(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        int frameNumber = in.readInt();
+        short[] next = new short[SpectatorServer.FIELD_COUNT];
+
+        if (type == SpectatorServer.KEYFRAME) {
+            for (int i = 0; i < SpectatorServer.FIELD_COUNT; i++) {
+                keyframe[i] = in.readShort();
+            }
+            keyframeNumber = frameNumber;
+            System.arraycopy(keyframe, 0, next, 0, next.length);
+        } else if (type == SpectatorServer.DELTA) {
+            int basedOn = in.readInt();
+            int mask = in.readByte();
+            // Start from the keyframe, then replace the fields that changed
+            System.arraycopy(keyframe, 0, next, 0, next.length);
+            for (int i = 0; i < SpectatorServer.FIELD_COUNT; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    next[i] = in.readShort();
+                }
+            }
+            if (basedOn != keyframeNumber) {
+                return; // we don't have that keyframe - the server sends it again soon
+            }
+        } else {
+            throw new IOException("Unknown frame type: " + type);
+        }
+
+        state = next;
+        repaint();
+    }
+
+    // Draw the match from the latest state
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        short[] s = state;
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(background, 0, 0, this);
+
+        // Goalie - rotated around the middle of its 300x400 spot, like the dive in Goalkeeper
+        Graphics2D goalieG = (Graphics2D) g2d.create(s[SpectatorServer.GOALIE_X], s[SpectatorServer.GOALIE_Y], 300, 400);
+        goalieG.translate(150, 200);
+        goalieG.rotate(Goalkeeper.getDiveRotation(s[SpectatorServer.DIVE]));
+        goalieG.drawImage(goalieImage, -150, -200, this);
+        goalieG.dispose();
+
+        g2d.drawImage(ballImage, s[SpectatorServer.BALL_X], s[SpectatorServer.BALL_Y], this);
+
+        // Score in the bottom right, like the game
+        g2d.setColor(new Color(0, 0, 0, 150));
+        g2d.fillRect(1075, 700, 200, 80);
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(new Font("Arial", Font.BOLD, 30));
+        g2d.drawString("Saves: " + s[SpectatorServer.SAVES], 1085, 735);
+        g2d.drawString("Goals: " + s[SpectatorServer.GOALS], 1085, 768);
+        g2d.dispose();
+    }
+
+    // Main method - opens a spectator window and starts watching
+    public static void main(String[] args) throws IOException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 5055;
+
+        SpectatorClient client = new SpectatorClient();
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("Soccer Game - Spectator");
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.add(client);
+            frame.pack();
+            frame.setVisible(true);
+        });
+        client.watch(host, port);
+    }
+}
@@ -0,0 +1,323 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// Streams the live match to spectator screens over the network.
+// One background thread uses a Selector to serve every spectator, so the game never waits on the network.
+//
+// Every frame starts with a type byte and a frame number (int):
+//   KEYFRAME: all fields as shorts
+//   DELTA:    the keyframe number it is based on (int), a bit mask (byte), then only the fields that
+//             are different from that keyframe as shorts
+// Deltas are always against the last keyframe, so a spectator that skips frames can still use the next one.
+public class SpectatorServer implements Runnable {
+    public static final byte KEYFRAME = 1; // frame type with every field
+    public static final byte DELTA = 2; // frame type with only the changed fields
+
+    // Field order in a keyframe and bit order in a delta mask
+    public static final int BALL_X = 0;
+    public static final int BALL_Y = 1;
+    public static final int GOALIE_X = 2;
+    public static final int GOALIE_Y = 3;
+    public static final int DIVE = 4; // goalie dive direction, 0 when standing
+    public static final int SAVES = 5;
+    public static final int GOALS = 6;
+    public static final int FIELD_COUNT = 7;
+
+    public static final int KEYFRAME_SIZE = 1 + 4 + FIELD_COUNT * 2;
+    private static final int MAX_DELTA_SIZE = KEYFRAME_SIZE + 5; // a delta with every field changed
+    private static final int CATCH_UP_SIZE = KEYFRAME_SIZE + MAX_DELTA_SIZE; // biggest thing we ever send at once
+    private static final int KEYFRAME_INTERVAL = 20; // a new keyframe every 20 frames (1 second of play)
+    private static final int MAX_SKIPPED_FRAMES = 100; // spectators this far behind get disconnected
+
+    private final Selector selector; // watches every spectator connection
+    private final ServerSocketChannel serverChannel; // accepts new spectators
+    private final Thread thread; // the only thread that touches the network
+    private volatile boolean running = true;
+
+    // Latest state from the game - the game writes it, the network thread reads it
+    private final short[] latest = new short[FIELD_COUNT];
+    private boolean changed; // true when the game published something the spectators haven't seen
+
+    // Only used on the network thread
+    private final short[] current = new short[FIELD_COUNT]; // copy of the latest state being sent
+    private final short[] keyframe = new short[FIELD_COUNT]; // state in the last keyframe
+    private final ByteBuffer keyframeBytes = ByteBuffer.allocate(KEYFRAME_SIZE);
+    private final ByteBuffer deltaBytes = ByteBuffer.allocate(MAX_DELTA_SIZE);
+    private final ByteBuffer catchUpBytes = ByteBuffer.allocate(CATCH_UP_SIZE); // keyframe + this frame's delta
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(256); // whatever spectators send us is thrown away
+    private final List<Spectator> spectators = new ArrayList<>();
+    private int frameNumber = 0;
+    private int keyframeNumber = -1; // no keyframe made yet
+    private boolean keyframeNeeded; // a new spectator joined and needs the latest state right away
+
+    // Everything we know about one connected spectator
+    private static class Spectator {
+        SocketChannel channel;
+        ByteBuffer unsent = ByteBuffer.allocate(CATCH_UP_SIZE); // rest of a frame the socket couldn't take yet
+        int lastKeyframe = -1; // newest keyframe this spectator has received
+        int skippedFrames = 0; // frames skipped in a row because it's too slow
+
+        Spectator(SocketChannel channel) {
+            this.channel = channel;
+            unsent.flip(); // start empty and ready for reading
+        }
+    }
+
+    // Constructor - starts listening on the given port
+    public SpectatorServer(int port) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        thread = new Thread(this, "Spectator server");
+        thread.setDaemon(true); // don't keep the program open just for spectators
+        thread.start();
+    }
+
+    // Called by the game - copies the state and returns right away
+    public void publish(int ballX, int ballY, int goalieX, int goalieY, int dive, int saves, int goals) {
+        synchronized (latest) {
+            latest[BALL_X] = (short) ballX;
+            latest[BALL_Y] = (short) ballY;
+            latest[GOALIE_X] = (short) goalieX;
+            latest[GOALIE_Y] = (short) goalieY;
+            latest[DIVE] = (short) dive;
+            latest[SAVES] = (short) saves;
+            latest[GOALS] = (short) goals;
+            changed = true;
+        }
+        selector.wakeup(); // let the network thread send it
+    }
+
+    // Stop the server and disconnect everyone
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    // Network thread - accepts spectators and sends them frames
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        acceptSpectator();
+                    } else {
+                        Spectator spectator = (Spectator) key.attachment();
+                        if (key.isReadable()) {
+                            readFromSpectator(spectator, key);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            sendUnsent(spectator, key);
+                        }
+                    }
+                }
+
+                boolean newState = takeLatestState();
+                if (newState || (keyframeNeeded && keyframeNumber >= 0)) {
+                    broadcast();
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Spectator server stopped: " + e.getMessage());
+        } finally {
+            for (Spectator spectator : spectators) {
+                closeQuietly(spectator.channel);
+            }
+            closeQuietly(serverChannel);
+            closeQuietly(selector);
+        }
+    }
+
+    // Copy the game's latest state if it changed, returns true if there's something new to send
+    private boolean takeLatestState() {
+        synchronized (latest) {
+            if (!changed) {
+                return false;
+            }
+            System.arraycopy(latest, 0, current, 0, FIELD_COUNT);
+            changed = false;
+            return true;
+        }
+    }
+
+    // Let a new spectator in - they get a keyframe with the latest state on the next broadcast
+    private void acceptSpectator() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true); // frames are tiny, send them immediately
+
+        Spectator spectator = new Spectator(channel);
+        channel.register(selector, SelectionKey.OP_READ, spectator);
+        spectators.add(spectator);
+        keyframeNeeded = true; // the game might be idle, so don't wait for it to publish
+    }
+
+    // Spectators don't send us anything, we only read to notice when they leave
+    private void readFromSpectator(Spectator spectator, SelectionKey key) {
+        readBuffer.clear();
+        try {
+            if (spectator.channel.read(readBuffer) < 0) {
+                disconnect(spectator, key);
+            }
+        } catch (IOException e) {
+            disconnect(spectator, key);
+        }
+    }
+
+    // Build this frame once, then send it to every spectator
+    private void broadcast() {
+        boolean newKeyframe = keyframeNeeded || keyframeNumber < 0 || frameNumber - keyframeNumber >= KEYFRAME_INTERVAL;
+        if (newKeyframe) {
+            keyframeNeeded = false;
+            buildKeyframe();
+        } else {
+            buildDelta();
+        }
+
+        boolean catchUpBuilt = false;
+        for (int i = spectators.size() - 1; i >= 0; i--) {
+            Spectator spectator = spectators.get(i);
+            if (spectator.lastKeyframe == keyframeNumber) {
+                send(spectator, deltaBytes, keyframeNumber); // they have the keyframe, a delta is enough
+            } else if (newKeyframe) {
+                send(spectator, keyframeBytes, keyframeNumber); // the keyframe is this frame
+            } else {
+                // They missed the keyframe, which is older than this frame - send it with this frame's delta
+                // straight after, so they don't show the old state
+                if (!catchUpBuilt) {
+                    buildCatchUp();
+                    catchUpBuilt = true;
+                }
+                send(spectator, catchUpBytes, keyframeNumber);
+            }
+        }
+        frameNumber++;
+    }
+
+    // Put the last keyframe and this frame's delta together, for spectators that missed the keyframe
+    private void buildCatchUp() {
+        catchUpBytes.clear();
+        catchUpBytes.put(keyframeBytes.duplicate());
+        catchUpBytes.put(deltaBytes.duplicate());
+        catchUpBytes.flip();
+    }
+
+    // Write a full frame with every field and remember it as the new keyframe
+    private void buildKeyframe() {
+        keyframeNumber = frameNumber;
+        System.arraycopy(current, 0, keyframe, 0, FIELD_COUNT);
+
+        keyframeBytes.clear();
+        keyframeBytes.put(KEYFRAME);
+        keyframeBytes.putInt(frameNumber);
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            keyframeBytes.putShort(current[i]);
+        }
+        keyframeBytes.flip();
+        deltaBytes.clear().flip(); // this frame has no delta
+    }
+
+    // Write a frame with only the fields that are different from the last keyframe
+    private void buildDelta() {
+        int mask = 0;
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            if (current[i] != keyframe[i]) {
+                mask |= 1 << i;
+            }
+        }
+
+        deltaBytes.clear();
+        deltaBytes.put(DELTA);
+        deltaBytes.putInt(frameNumber);
+        deltaBytes.putInt(keyframeNumber);
+        deltaBytes.put((byte) mask);
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            if ((mask & (1 << i)) != 0) {
+                deltaBytes.putShort(current[i]);
+            }
+        }
+        deltaBytes.flip();
+    }
+
+    // Try to send a frame - slow spectators skip it instead of making anyone wait
+    private void send(Spectator spectator, ByteBuffer frame, int frameKeyframe) {
+        SelectionKey key = spectator.channel.keyFor(selector);
+        if (spectator.unsent.hasRemaining()) {
+            // Still busy with an older frame - skip this one, and drop them if they never catch up
+            spectator.skippedFrames++;
+            if (spectator.skippedFrames > MAX_SKIPPED_FRAMES) {
+                disconnect(spectator, key);
+            }
+            return;
+        }
+
+        try {
+            ByteBuffer bytes = frame.duplicate(); // every spectator reads the same bytes
+            spectator.channel.write(bytes);
+            if (frame == keyframeBytes || frame == catchUpBytes) {
+                spectator.lastKeyframe = frameKeyframe;
+            }
+            spectator.skippedFrames = 0;
+
+            if (bytes.hasRemaining()) {
+                // Socket is full - keep the rest and finish it when the socket is writable again
+                spectator.unsent.clear();
+                spectator.unsent.put(bytes);
+                spectator.unsent.flip();
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        } catch (IOException e) {
+            disconnect(spectator, key);
+        }
+    }
+
+    // Finish sending a frame that didn't fit earlier
+    private void sendUnsent(Spectator spectator, SelectionKey key) {
+        try {
+            spectator.channel.write(spectator.unsent);
+            if (!spectator.unsent.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_READ); // done, stop waiting for writable
+            }
+        } catch (IOException e) {
+            disconnect(spectator, key);
+        }
+    }
+
+    // Remove a spectator that left or is too slow
+    private void disconnect(Spectator spectator, SelectionKey key) {
+        if (key != null) {
+            key.cancel();
+        }
+        closeQuietly(spectator.channel);
+        spectators.remove(spectator);
+    }
+
+    // Close something without caring if it fails
+    private static void closeQuietly(java.io.Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Already closed or broken, nothing else to do
+        }
+    }
+}
@@ -0,0 +1,383 @@
+import javax.swing.*;
+import javax.swing.Timer;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.image.BufferedImage;
+
+// Split screen mode - 2 to 4 goalkeepers each play their own shootout at the same time in one window.
+// All matches share one game timer and the same images and sounds. Each match is drawn by its own
+// component, so Swing only repaints the matches where something changed.
+public class SplitScreenGame extends JFrame implements KeyListener, ActionListener {
+    private static final int MESSAGE_TICKS = 20; // how long "SAVE!" or "GOAL!" stays up (1 second)
+    private static final int GAME_OVER_TICKS = 40; // how long the win or lose message stays up
+
+    // Keys for each player: left, right, up, down, 4 dives (top left, top right, bottom left, bottom right), shoot
+    private static final int[][] KEYS = {
+            {KeyEvent.VK_A, KeyEvent.VK_D, KeyEvent.VK_W, KeyEvent.VK_S,
+                    KeyEvent.VK_Q, KeyEvent.VK_E, KeyEvent.VK_Z, KeyEvent.VK_C, KeyEvent.VK_SPACE},
+            {KeyEvent.VK_J, KeyEvent.VK_L, KeyEvent.VK_I, KeyEvent.VK_K,
+                    KeyEvent.VK_U, KeyEvent.VK_O, KeyEvent.VK_M, KeyEvent.VK_PERIOD, KeyEvent.VK_N},
+            {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_UP, KeyEvent.VK_DOWN,
+                    KeyEvent.VK_NUMPAD7, KeyEvent.VK_NUMPAD9, KeyEvent.VK_NUMPAD1, KeyEvent.VK_NUMPAD3, KeyEvent.VK_NUMPAD0},
+            {KeyEvent.VK_F, KeyEvent.VK_H, KeyEvent.VK_T, KeyEvent.VK_G,
+                    KeyEvent.VK_R, KeyEvent.VK_Y, KeyEvent.VK_V, KeyEvent.VK_B, KeyEvent.VK_5}
+    };
+    private static final String[] KEY_HELP = {
+            "move W A S D, dive Q E Z C, shoot Space",
+            "move I J K L, dive U O M . (period), shoot N",
+            "move arrow keys, dive numpad 7 9 1 3, shoot numpad 0",
+            "move T F G H, dive R Y V B, shoot 5"
+    };
+    private static final int[] DIVES = {-45, 45, -135, 135}; // dive directions in key order
+    private static final Font MESSAGE_FONT = new Font("Arial", Font.BOLD, 40);
+    private static final Color MESSAGE_BACKGROUND = new Color(0, 0, 0, 150); // same see-through black as the HUD
+
+    private Match[] matches;
+    private Timer gameTimer; // one timer for all matches, only runs while something is moving
+    private LoopStats loopStats = new LoopStats(); // ticks and repaints per second
+    private GameEventBus events; // plays sounds and saves wins on other threads, so one match never stalls the rest
+
+    // Everything sized for one match's part of the window
+    private final double scale; // how much smaller each match is than the normal game
+    private final int viewWidth;
+    private final int viewHeight;
+    private BufferedImage background; // field, already scaled to the match size and shared by all matches
+    private BufferedImage goalieImage; // standing goalie at the match size, rotated while drawing for dives
+    private BufferedImage ballImage; // ball at the match size
+
+    // One goalkeeper's shootout
+    private static class Match {
+        String name; // player's name
+        int player; // which player this is (0-3), sent with every event
+        Ball ball; // made without images - positions are in normal game coordinates (1280x800), scaled when drawn
+        Goalkeeper goalie; // made without images too, the shared goalie image is rotated while drawing
+        int saves;
+        int goals;
+        int wins;
+        int losses;
+        int viewX; // where this match is drawn in the window
+        int viewY;
+        JComponent view; // draws this match - its own component so its repaints aren't merged with others
+        HudPanel hud; // name and score
+        String message; // "SAVE!", "GOAL!" etc, null when there isn't one
+        int messageTicks; // ticks left before the message goes away and the next shot is ready
+    }
+
+    // Constructor - sets up a split screen game for 2 to 4 players
+    public SplitScreenGame(int players) {
+        players = Math.max(2, Math.min(4, players));
+        scale = 0.5; // 2 side by side, or 3-4 in a 2x2 grid - each match is half size either way
+        viewWidth = (int) (1280 * scale);
+        viewHeight = (int) (800 * scale);
+
+        loadImages();
+        createMatches(players);
+        setupEvents();
+        setupGUI();
+        gameTimer = new Timer(50, this); // same 50ms tick as the normal game, started by the first shot
+        showControls();
+    }
+
+    // Load the images once at the match size - every match draws the same ones
+    private void loadImages() {
+        background = AssetCache.acquireImage("/SoccerNet.png", viewWidth, viewHeight);
+        goalieImage = AssetCache.acquireImage("/SoccerGoalie.png",
+                (int) (Goalkeeper.WIDTH * scale), (int) (Goalkeeper.HEIGHT * scale));
+        ballImage = AssetCache.acquireImage("/Ball.png", (int) (Ball.SIZE * scale), (int) (Ball.SIZE * scale));
+    }
+
+    // Ask each player's name and make their match
+    private void createMatches(int players) {
+        matches = new Match[players];
+        for (int i = 0; i < players; i++) {
+            Match match = new Match();
+            String name = JOptionPane.showInputDialog(this, "Enter a name for player " + (i + 1) + ":",
+                    "Player Name", JOptionPane.PLAIN_MESSAGE);
+            match.player = i;
+            match.name = (name == null || name.trim().isEmpty()) ? "Player " + (i + 1) : name.trim();
+            match.ball = new Ball();
+            match.goalie = new Goalkeeper(490, 275);
+
+            if (players == 2) {
+                match.viewX = i * viewWidth; // side by side in the middle of the window
+                match.viewY = (800 - viewHeight) / 2;
+            } else {
+                match.viewX = (i % 2) * viewWidth; // 2x2 grid
+                match.viewY = (i / 2) * viewHeight;
+            }
+            matches[i] = match;
+        }
+    }
+
+    // Sounds and leaderboard saving happen on their own threads, like in the normal game
+    private void setupEvents() {
+        events = new GameEventBus();
+
+        // Sound - cheer for a save, boo for a goal
+        events.subscribe("audio", (event, endOfBatch) -> {
+            if (event.getType() == GameEvent.Type.SAVE) {
+                SoundPlayer.play("/SoccerCheering.wav");
+            } else if (event.getType() == GameEvent.Type.GOAL) {
+                SoundPlayer.play("/SoccerBoo.wav");
+            }
+        });
+
+        // Leaderboard - a won match adds one win for that player
+        events.subscribe("leaderboard", (event, endOfBatch) -> {
+            if (event.getType() == GameEvent.Type.MATCH_WON) {
+                Leaderboard.addWins(matches[event.getPlayer()].name, 1);
+            }
+        });
+    }
+
+    // Set up the window - one component for each match, with a small score box on each
+    private void setupGUI() {
+        setTitle("Soccer Game - Split Screen");
+        setSize(1280, 800);
+        setResizable(false);
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setFocusable(true);
+        addKeyListener(this);
+
+        getContentPane().setBackground(Color.BLACK); // space around the matches
+        JLayeredPane layeredPane = new JLayeredPane();
+        layeredPane.setPreferredSize(new Dimension(1280, 800));
+
+        for (Match match : matches) {
+            match.view = new JComponent() {
+                @Override
+                protected void paintComponent(Graphics g) {
+                    paintMatch((Graphics2D) g, match);
+                }
+            };
+            match.view.setOpaque(true);
+            match.view.setBounds(match.viewX, match.viewY, viewWidth, viewHeight);
+            layeredPane.add(match.view, JLayeredPane.DEFAULT_LAYER);
+
+            match.hud = new HudPanel(new Font("Arial", Font.BOLD, 14), 4);
+            match.hud.setLine(0, match.name, HudPanel.NO_NUMBER, "");
+            match.hud.setLine(1, "Saves: ", 0, "");
+            match.hud.setLine(2, "Goals: ", 0, "");
+            match.hud.setLine(3, "Wins: ", 0, "");
+            match.hud.setBounds(match.viewX + viewWidth - 140, match.viewY + viewHeight - 90, 130, 80);
+            layeredPane.add(match.hud, JLayeredPane.DRAG_LAYER);
+        }
+
+        add(layeredPane);
+        setVisible(true);
+    }
+
+    // Tell each player which keys are theirs
+    private void showControls() {
+        StringBuilder text = new StringBuilder("Controls (Esc goes back to the main menu):\n");
+        for (int i = 0; i < matches.length; i++) {
+            text.append(matches[i].name).append(": ").append(KEY_HELP[i]).append("\n");
+        }
+        JOptionPane.showMessageDialog(this, text.toString(), "Split Screen", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    // Draw one match - background, goalie, ball and message
+    private void paintMatch(Graphics2D g, Match match) {
+        g.drawImage(background, 0, 0, null);
+
+        // Goalie - rotated around the middle of its spot when diving, like Goalkeeper.dive()
+        int goalieW = goalieImage.getWidth();
+        int goalieH = goalieImage.getHeight();
+        int goalieX = (int) (match.goalie.getX() * scale);
+        int goalieY = (int) (match.goalie.getY() * scale);
+        int direction = match.goalie.getDiveDirection();
+        if (direction == 0) {
+            g.drawImage(goalieImage, goalieX, goalieY, null);
+        } else {
+            Graphics2D goalieG = (Graphics2D) g.create(goalieX, goalieY, goalieW, goalieH);
+            goalieG.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            goalieG.translate(goalieW / 2, goalieH / 2);
+            goalieG.rotate(Goalkeeper.getDiveRotation(direction));
+            goalieG.drawImage(goalieImage, -goalieW / 2, -goalieH / 2, null);
+            goalieG.dispose();
+        }
+
+        g.drawImage(ballImage, (int) (match.ball.getX() * scale), (int) (match.ball.getY() * scale), null);
+
+        if (match.message != null) {
+            g.setFont(MESSAGE_FONT);
+            FontMetrics metrics = g.getFontMetrics();
+            int textX = (viewWidth - metrics.stringWidth(match.message)) / 2;
+            g.setColor(MESSAGE_BACKGROUND);
+            g.fillRect(textX - 15, viewHeight / 2 - 40, metrics.stringWidth(match.message) + 30, 55);
+            g.setColor(Color.WHITE);
+            g.drawString(match.message, textX, viewHeight / 2);
+        }
+    }
+
+    // Ask Swing to redraw only this match
+    private void repaintMatch(Match match) {
+        match.view.repaint();
+        loopStats.recordRepaint();
+    }
+
+    // Wake the shared game loop up (does nothing if it's already running)
+    private void wakeGameLoop() {
+        if (!gameTimer.isRunning()) {
+            gameTimer.start();
+        }
+    }
+
+    // Game loop - moves every ball in flight and counts down messages, stops when nothing is happening
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        loopStats.recordTick();
+        boolean busy = false;
+
+        for (Match match : matches) {
+            if (match.ball.isMoving()) {
+                if (match.ball.update()) {
+                    checkGoalOrSave(match);
+                }
+                repaintMatch(match);
+                busy = true;
+            } else if (match.messageTicks > 0) {
+                match.messageTicks--;
+                if (match.messageTicks == 0) {
+                    // Message is done - reset goalie and ball for the next shot
+                    match.message = null;
+                    match.goalie.reset();
+                    match.ball.reset();
+                    repaintMatch(match);
+                } else {
+                    busy = true;
+                }
+            }
+        }
+
+        if (!busy) {
+            gameTimer.stop(); // nothing moving in any match, wait for the next shot
+        }
+    }
+
+    // Same rules as the normal game - first to 5 saves wins, 5 goals loses
+    // Sound and leaderboard are left to the event threads, so this tick only updates the score.
+    private void checkGoalOrSave(Match match) {
+        boolean save = match.goalie.isCollidingWithBall(match.ball);
+        if (save) {
+            match.saves++;
+            match.message = "SAVE!";
+        } else {
+            match.goals++;
+            match.message = "GOAL!";
+        }
+        match.messageTicks = MESSAGE_TICKS;
+        events.publish(save ? GameEvent.Type.SAVE : GameEvent.Type.GOAL, match.player,
+                match.saves, match.goals, match.wins, match.losses);
+
+        if (match.saves == 5) {
+            match.wins++;
+            events.publish(GameEvent.Type.MATCH_WON, match.player, match.saves, match.goals, match.wins, match.losses);
+            match.message = match.name + " WON!";
+            match.messageTicks = GAME_OVER_TICKS;
+            match.saves = 0;
+            match.goals = 0;
+        } else if (match.goals == 5) {
+            match.losses++;
+            events.publish(GameEvent.Type.MATCH_LOST, match.player, match.saves, match.goals, match.wins, match.losses);
+            match.message = match.name + " lost.";
+            match.messageTicks = GAME_OVER_TICKS;
+            match.saves = 0;
+            match.goals = 0;
+        }
+
+        match.hud.setNumber(1, match.saves);
+        match.hud.setNumber(2, match.goals);
+        match.hud.setNumber(3, match.wins);
+    }
+
+    // Send each key to the player it belongs to
+    @Override
+    public void keyPressed(KeyEvent e) {
+        int key = e.getKeyCode();
+        if (key == KeyEvent.VK_ESCAPE) {
+            returnToMainMenu();
+            return;
+        }
+
+        for (int i = 0; i < matches.length; i++) {
+            Match match = matches[i];
+            int[] keys = KEYS[i];
+
+            if (key == keys[8]) {
+                // Shoot - only when the last shot is finished
+                if (!match.ball.isMoving() && match.messageTicks == 0) {
+                    match.ball.startShot();
+                    events.publish(GameEvent.Type.SHOT_STARTED, match.player,
+                            match.saves, match.goals, match.wins, match.losses);
+                    wakeGameLoop();
+                }
+                return;
+            }
+            if (!match.ball.isMoving()) {
+                continue; // goalies can only move while the ball is moving
+            }
+            for (int k = 0; k < 8; k++) {
+                if (key == keys[k]) {
+                    moveGoalie(match.goalie, k);
+                    repaintMatch(match);
+                    return;
+                }
+            }
+        }
+    }
+
+    // Move or dive a goalie - k is the position of the key in that player's KEYS row
+    private void moveGoalie(Goalkeeper goalie, int k) {
+        switch (k) {
+            case 0:
+                goalie.moveLeft();
+                break;
+            case 1:
+                goalie.moveRight();
+                break;
+            case 2:
+                goalie.moveUp();
+                break;
+            case 3:
+                goalie.moveDown();
+                break;
+            default:
+                goalie.dive(DIVES[k - 4]);
+                break;
+        }
+    }
+
+    // Close split screen, let go of the shared images and go back to the main menu
+    private void returnToMainMenu() {
+        gameTimer.stop();
+        events.close(); // waits for any win that's still being saved
+        AssetCache.release(AssetCache.imageKey("/SoccerNet.png", viewWidth, viewHeight));
+        AssetCache.release(AssetCache.imageKey("/SoccerGoalie.png",
+                (int) (Goalkeeper.WIDTH * scale), (int) (Goalkeeper.HEIGHT * scale)));
+        AssetCache.release(AssetCache.imageKey("/Ball.png", (int) (Ball.SIZE * scale), (int) (Ball.SIZE * scale)));
+
+        this.dispose();
+        SwingUtilities.invokeLater(() -> MainMenu.main(new String[0]));
+    }
+
+    // Get the loop counters so the cost of running several matches can be checked
+    public LoopStats getLoopStats() {
+        return loopStats;
+    }
+
+    // Required by KeyListener but we don't need it
+    @Override
+    public void keyReleased(KeyEvent e) {
+
+    }
+
+    // Required by KeyListener but we don't need it
+    @Override
+    public void keyTyped(KeyEvent e) {
+
+    }
+}